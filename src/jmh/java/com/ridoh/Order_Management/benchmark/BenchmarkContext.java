@@ -0,0 +1,46 @@
+package com.ridoh.Order_Management.benchmark;
+
+import com.ridoh.Order_Management.OrderManagementApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The application context shared by the benchmarks that need Spring beans.
+ * <p>
+ * The context is started once per benchmark JVM against the in-memory H2 database configured in
+ * the test {@code application.properties}. Hibernate statistics are switched off so they do not
+ * add to the measured time. The web layer is needed by the security configuration, so the
+ * embedded server is started on a random port; the benchmarks call the beans directly.
+ * </p>
+ */
+final class BenchmarkContext {
+
+    private static ConfigurableApplicationContext context;
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * Returns the shared context, starting it on first use.
+     */
+    static synchronized ConfigurableApplicationContext get() {
+        if (context == null) {
+            context = new SpringApplicationBuilder(OrderManagementApplication.class)
+                    .bannerMode(Banner.Mode.OFF)
+                    .properties(
+                            "server.port=0",
+                            "spring.jpa.properties.hibernate.generate_statistics=false",
+                            "logging.level.root=WARN")
+                    .run();
+        }
+        return context;
+    }
+
+    /**
+     * Returns the bean of the given type from the shared context.
+     */
+    static <T> T bean(Class<T> type) {
+        return get().getBean(type);
+    }
+}
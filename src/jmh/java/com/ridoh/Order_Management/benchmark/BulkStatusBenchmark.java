@@ -0,0 +1,114 @@
+package com.ridoh.Order_Management.benchmark;
+
+import com.ridoh.Order_Management.dto.OrderItemRequest;
+import com.ridoh.Order_Management.dto.OrderRequest;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.entity.User;
+import com.ridoh.Order_Management.enums.UserRole;
+import com.ridoh.Order_Management.repository.OrderItemRepo;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.repository.UserRepo;
+import com.ridoh.Order_Management.service.Interface.OrderItemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares confirming a batch of pending order items with one bulk status update against updating
+ * them one at a time. Every iteration places a fresh order with {@code items} pending items.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkStatusBenchmark {
+
+    @Param({"1000", "10000"})
+    private int items;
+
+    private OrderItemService orderItemService;
+    private OrderItemRepo orderItemRepo;
+    private JdbcTemplate jdbcTemplate;
+    private Product product;
+    private List<Long> pendingIds;
+
+    @Setup
+    public void setUp() {
+        orderItemService = BenchmarkContext.bean(OrderItemService.class);
+        orderItemRepo = BenchmarkContext.bean(OrderItemRepo.class);
+        jdbcTemplate = BenchmarkContext.bean(JdbcTemplate.class);
+
+        User user = BenchmarkContext.bean(UserRepo.class).save(User.builder()
+                .name("Warehouse Benchmark")
+                .email("warehouse-" + System.nanoTime() + "@test.com")
+                .password("secret")
+                .phoneNumber("0000000000")
+                .role(UserRole.USER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+
+        product = new Product();
+        product.setName("Bulk Benchmark Product");
+        product.setDescription("Confirmed in waves");
+        product.setPrice(BigDecimal.TEN);
+        product = BenchmarkContext.bean(ProductRepo.class).save(product);
+    }
+
+    @Setup(Level.Iteration)
+    public void placePendingItems() {
+        long lastId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM order_items", Long.class);
+
+        List<OrderItemRequest> lines = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            OrderItemRequest line = new OrderItemRequest();
+            line.setProductId(product.getId().intValue());
+            line.setQuantity(1);
+            lines.add(line);
+        }
+        OrderRequest request = new OrderRequest();
+        request.setItems(lines);
+        orderItemService.placeOrder(request);
+
+        pendingIds = orderItemRepo.findIdsAfter(lastId, PageRequest.of(0, items));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object bulk() {
+        return orderItemService.updateOrderItemStatuses(pendingIds, "confirmed");
+    }
+
+    @Benchmark
+    public int perItem() {
+        for (Long id : pendingIds) {
+            orderItemService.updateOrderItemStatus(id, "confirmed");
+        }
+        return pendingIds.size();
+    }
+}
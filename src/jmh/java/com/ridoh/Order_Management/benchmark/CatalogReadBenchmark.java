@@ -0,0 +1,64 @@
+package com.ridoh.Order_Management.benchmark;
+
+import com.ridoh.Order_Management.dto.ProductDto;
+import com.ridoh.Order_Management.dto.Response;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.exception.NotFoundException;
+import com.ridoh.Order_Management.mapper.EntityDtoMapper;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.service.Interface.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a product through the catalog cache with loading and mapping it from the
+ * database on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogReadBenchmark {
+
+    private ProductService productService;
+    private ProductRepo productRepo;
+    private EntityDtoMapper mapper;
+    private Long productId;
+
+    @Setup
+    public void setUp() {
+        productService = BenchmarkContext.bean(ProductService.class);
+        productRepo = BenchmarkContext.bean(ProductRepo.class);
+        mapper = BenchmarkContext.bean(EntityDtoMapper.class);
+
+        Product product = new Product();
+        product.setName("Cached Product");
+        product.setDescription("Read far more often than it is written");
+        product.setPrice(new BigDecimal("49.99"));
+        productId = productRepo.save(product).getId();
+    }
+
+    @Benchmark
+    public Response cached() {
+        return productService.getProductById(productId);
+    }
+
+    @Benchmark
+    public ProductDto uncached() {
+        return mapper.mapProductToDtoBasic(productRepo.findById(productId)
+                .orElseThrow(() -> new NotFoundException("Product Not Found")));
+    }
+}
@@ -0,0 +1,133 @@
+package com.ridoh.Order_Management.benchmark;
+
+import com.ridoh.Order_Management.dto.OrderItemDto;
+import com.ridoh.Order_Management.dto.ProductDto;
+import com.ridoh.Order_Management.dto.UserDto;
+import com.ridoh.Order_Management.entity.Address;
+import com.ridoh.Order_Management.entity.Category;
+import com.ridoh.Order_Management.entity.OrderHistoryEntry;
+import com.ridoh.Order_Management.entity.OrderItem;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.entity.User;
+import com.ridoh.Order_Management.enums.OrderStatus;
+import com.ridoh.Order_Management.enums.UserRole;
+import com.ridoh.Order_Management.mapper.EntityDtoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link EntityDtoMapper} methods used by the product and order endpoints, on
+ * in-memory entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityDtoMapperBenchmark {
+
+    @Param({"20"})
+    private int historySize;
+
+    private final EntityDtoMapper mapper = new EntityDtoMapper();
+
+    private Product product;
+    private OrderItem orderItem;
+    private User user;
+    private List<OrderHistoryEntry> history;
+
+    @Setup
+    public void setUp() {
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("Electronics");
+
+        product = new Product();
+        product.setId(1L);
+        product.setName("Gaming Laptop");
+        product.setDescription("16 inch laptop with a dedicated graphics card");
+        product.setImageUrl("https://cdn.example.com/images/laptop.jpg");
+        product.setPrice(new BigDecimal("1499.99"));
+        product.setStock(25);
+        product.setCategory(category);
+
+        Address address = new Address();
+        address.setId(1L);
+        address.setStreet("1 Market Street");
+        address.setCity("Lagos");
+        address.setState("Lagos");
+        address.setZipCode("100001");
+        address.setCountry("Nigeria");
+
+        user = User.builder()
+                .id(1L)
+                .name("Benchmark User")
+                .email("benchmark@test.com")
+                .password("secret")
+                .phoneNumber("0000000000")
+                .role(UserRole.USER)
+                .address(address)
+                .build();
+        address.setUser(user);
+
+        orderItem = new OrderItem();
+        orderItem.setId(1L);
+        orderItem.setQuantity(2);
+        orderItem.setPrice(new BigDecimal("2999.98"));
+        orderItem.setStatus(OrderStatus.PENDING);
+        orderItem.setProduct(product);
+        orderItem.setUser(user);
+
+        history = new ArrayList<>(historySize);
+        for (long id = 1; id <= historySize; id++) {
+            OrderHistoryEntry entry = new OrderHistoryEntry();
+            entry.setId(id);
+            entry.setUserId(user.getId());
+            entry.setOrderId(id);
+            entry.setProductId(product.getId());
+            entry.setProductName(product.getName());
+            entry.setProductImageUrl(product.getImageUrl());
+            entry.setQuantity(1);
+            entry.setPrice(product.getPrice());
+            entry.setStatus(OrderStatus.DELIVERED);
+            entry.setCreatedAt(LocalDateTime.now());
+            history.add(entry);
+        }
+    }
+
+    @Benchmark
+    public ProductDto productBasic() {
+        return mapper.mapProductToDtoBasic(product);
+    }
+
+    @Benchmark
+    public OrderItemDto orderItemPlusProductAndUser() {
+        return mapper.mapOrderItemToDtoPlusProductAndUser(orderItem);
+    }
+
+    @Benchmark
+    public UserDto userPlusAddress() {
+        return mapper.mapUserToDtoPlusAddress(user);
+    }
+
+    @Benchmark
+    public UserDto userPlusAddressAndOrderHistory() {
+        return mapper.mapUserToDtoPlusAddressAndOrderHistory(user, history);
+    }
+}
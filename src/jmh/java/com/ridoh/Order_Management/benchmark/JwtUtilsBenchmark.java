@@ -0,0 +1,66 @@
+package com.ridoh.Order_Management.benchmark;
+
+import com.ridoh.Order_Management.security.JwtUtils;
+import com.ridoh.Order_Management.security.VerifiedClaims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures JWT generation and verification, with and without the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-signing-jwt-tokens-0123456789";
+
+    private JwtUtils cached;
+    private JwtUtils uncached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = jwtUtils(10_000L);
+        uncached = jwtUtils(0L);
+        token = cached.generateToken("benchmark@test.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken("benchmark@test.com");
+    }
+
+    @Benchmark
+    public VerifiedClaims verifyTokenCached() {
+        return cached.verifyToken(token);
+    }
+
+    @Benchmark
+    public VerifiedClaims verifyTokenUncached() {
+        return uncached.verifyToken(token);
+    }
+
+    private static JwtUtils jwtUtils(long verifiedCacheMaximumSize) {
+        JwtUtils jwtUtils = new JwtUtils(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "secreteJwtString", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheMaximumSize", verifiedCacheMaximumSize);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        return jwtUtils;
+    }
+}
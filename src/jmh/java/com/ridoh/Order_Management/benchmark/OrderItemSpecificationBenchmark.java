@@ -0,0 +1,78 @@
+package com.ridoh.Order_Management.benchmark;
+
+import com.ridoh.Order_Management.entity.OrderItem;
+import com.ridoh.Order_Management.enums.OrderStatus;
+import com.ridoh.Order_Management.specification.OrderItemSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the order item filter specification and turning it into a criteria predicate,
+ * the work done for every call of the order filter endpoints before any SQL is issued.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderItemSpecificationBenchmark {
+
+    private EntityManager entityManager;
+    private CriteriaBuilder criteriaBuilder;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+
+    @Setup
+    public void setUp() {
+        entityManager = BenchmarkContext.bean(EntityManagerFactory.class).createEntityManager();
+        criteriaBuilder = entityManager.getCriteriaBuilder();
+        endDate = LocalDateTime.now();
+        startDate = endDate.minusDays(30);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+    }
+
+    @Benchmark
+    public Predicate allFilters() {
+        return toPredicate(Specification.where(OrderItemSpecification.hasStatus(OrderStatus.SHIPPED))
+                .and(OrderItemSpecification.createdBetween(startDate, endDate))
+                .and(OrderItemSpecification.hasItemId(42L))
+                .and(OrderItemSpecification.idLessThan(1_000L)));
+    }
+
+    @Benchmark
+    public Predicate noFilters() {
+        return toPredicate(Specification.where(OrderItemSpecification.hasStatus(null))
+                .and(OrderItemSpecification.createdBetween(null, null))
+                .and(OrderItemSpecification.hasItemId(null)));
+    }
+
+    private Predicate toPredicate(Specification<OrderItem> spec) {
+        CriteriaQuery<OrderItem> query = criteriaBuilder.createQuery(OrderItem.class);
+        Root<OrderItem> root = query.from(OrderItem.class);
+        return spec.toPredicate(root, query, criteriaBuilder);
+    }
+}
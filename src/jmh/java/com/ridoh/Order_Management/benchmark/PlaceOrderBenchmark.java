@@ -0,0 +1,95 @@
+package com.ridoh.Order_Management.benchmark;
+
+import com.ridoh.Order_Management.dto.OrderItemRequest;
+import com.ridoh.Order_Management.dto.OrderRequest;
+import com.ridoh.Order_Management.dto.Response;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.entity.User;
+import com.ridoh.Order_Management.enums.UserRole;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.repository.UserRepo;
+import com.ridoh.Order_Management.service.Interface.OrderItemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures placing an order end to end against H2: product lookup, quantity aggregation, stock
+ * reservation, pricing, and saving the order with its history and confirmation email.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlaceOrderBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int cartSize;
+
+    private OrderItemService orderItemService;
+    private OrderRequest orderRequest;
+
+    @Setup
+    public void setUp() {
+        orderItemService = BenchmarkContext.bean(OrderItemService.class);
+        ProductRepo productRepo = BenchmarkContext.bean(ProductRepo.class);
+
+        User user = BenchmarkContext.bean(UserRepo.class).save(User.builder()
+                .name("Benchmark Buyer")
+                .email("buyer-" + System.nanoTime() + "@test.com")
+                .password("secret")
+                .phoneNumber("0000000000")
+                .role(UserRole.USER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+
+        // half the lines repeat a product, so the per-product aggregation is exercised too
+        List<OrderItemRequest> items = new ArrayList<>(cartSize);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < cartSize; i++) {
+            if (i % 2 == 0 || products.isEmpty()) {
+                Product product = new Product();
+                product.setName("Benchmark Product " + i);
+                product.setDescription("Placed over and over");
+                product.setPrice(new BigDecimal("19.99"));
+                product.setStock(1_000_000_000);
+                products.add(productRepo.save(product));
+            }
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductId(products.get(products.size() - 1).getId().intValue());
+            item.setQuantity(1 + i % 3);
+            items.add(item);
+        }
+        orderRequest = new OrderRequest();
+        orderRequest.setItems(items);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Response placeOrder() {
+        return orderItemService.placeOrder(orderRequest);
+    }
+}
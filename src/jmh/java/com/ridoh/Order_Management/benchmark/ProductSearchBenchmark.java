@@ -0,0 +1,86 @@
+package com.ridoh.Order_Management.benchmark;
+
+import com.ridoh.Order_Management.dto.ProductDto;
+import com.ridoh.Order_Management.dto.Response;
+import com.ridoh.Order_Management.mapper.EntityDtoMapper;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.service.Interface.ProductService;
+import com.ridoh.Order_Management.service.ProductSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares product search through the full-text index with the {@code LIKE} query it replaced,
+ * at catalog sizes of 100k and 1M products (override with {@code -p products=...}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// a million products and their index need more than the default heap of a small machine
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ProductSearchBenchmark {
+
+    private static final String[] MATERIALS = {"steel", "oak", "leather", "cotton", "glass", "carbon", "bamboo", "wool"};
+    private static final String[] KINDS = {"chair", "table", "jacket", "lamp", "bottle", "backpack", "shelf", "blanket"};
+    private static final int SEED_BATCH_SIZE = 5_000;
+
+    @Param({"100000", "1000000"})
+    private int products;
+
+    private ProductService productService;
+    private ProductRepo productRepo;
+    private EntityDtoMapper mapper;
+
+    @Setup
+    public void setUp() {
+        productService = BenchmarkContext.bean(ProductService.class);
+        productRepo = BenchmarkContext.bean(ProductRepo.class);
+        mapper = BenchmarkContext.bean(EntityDtoMapper.class);
+
+        JdbcTemplate jdbcTemplate = BenchmarkContext.bean(JdbcTemplate.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < products; from += SEED_BATCH_SIZE) {
+            List<Object[]> rows = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int i = from; i < Math.min(from + SEED_BATCH_SIZE, products); i++) {
+                String material = MATERIALS[i % MATERIALS.length];
+                String kind = KINDS[(i / MATERIALS.length) % KINDS.length];
+                rows.add(new Object[]{material + " " + kind + " model" + (i % 1000),
+                        "A " + kind + " made of " + material + ", catalog number " + i,
+                        BigDecimal.valueOf(1000 + i % 9000, 2), now});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO products (name, description, price, created_at) VALUES (?, ?, ?, ?)", rows);
+        }
+        BenchmarkContext.bean(ProductSearchIndex.class).rebuild();
+    }
+
+    @Benchmark
+    public Response index() {
+        return productService.searchProduct("oak lamp model42");
+    }
+
+    @Benchmark
+    public List<ProductDto> like() {
+        return productRepo.findByNameContainingOrDescriptionContaining("model42", "model42").stream()
+                .map(mapper::mapProductToDtoBasic)
+                .toList();
+    }
+}
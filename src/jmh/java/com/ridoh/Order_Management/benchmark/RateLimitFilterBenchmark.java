@@ -0,0 +1,82 @@
+package com.ridoh.Order_Management.benchmark;
+
+import com.ridoh.Order_Management.security.RateLimitFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time the rate limit filter adds to a request, for one client and spread over many
+ * clients, single-threaded and with threads contending for the same buckets.
+ * <p>
+ * The limit is set high enough that no request is rejected, so every invocation takes the allow path.
+ * The filter's own cost is the difference to {@code baseline}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain NO_OP = (request, response) -> {
+    };
+
+    @Param({"1", "10000"})
+    public int clients;
+
+    private RateLimitFilter filter;
+    private MockHttpServletRequest[] requests;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        filter = new RateLimitFilter(new MockEnvironment()
+                .withProperty("rate-limit.search.requests-per-second", "1000000000")
+                .withProperty("rate-limit.search.burst", "1000000"),
+                new SimpleMeterRegistry(), Jackson2ObjectMapperBuilder.json().build(), true, 100_000, 600);
+        requests = new MockHttpServletRequest[clients];
+        for (int i = 0; i < clients; i++) {
+            requests[i] = new MockHttpServletRequest("GET", "/product/search");
+            requests[i].setRemoteAddr("10.0." + (i >> 8) + "." + (i & 0xff));
+        }
+        response = new MockHttpServletResponse();
+    }
+
+    /** Picking the request and running the chain without the filter, to subtract from the others. */
+    @Benchmark
+    public void baseline() throws Exception {
+        NO_OP.doFilter(requests[ThreadLocalRandom.current().nextInt(clients)], response);
+    }
+
+    @Benchmark
+    public void filter() throws Exception {
+        filter.doFilter(requests[ThreadLocalRandom.current().nextInt(clients)], response, NO_OP);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void filterContended() throws Exception {
+        filter.doFilter(requests[ThreadLocalRandom.current().nextInt(clients)], response, NO_OP);
+    }
+}
@@ -0,0 +1,94 @@
+package com.ridoh.Order_Management.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ridoh.Order_Management.dto.OrderItemDto;
+import com.ridoh.Order_Management.dto.ProductDto;
+import com.ridoh.Order_Management.dto.Response;
+import com.ridoh.Order_Management.dto.UserDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serializing {@link Response} bodies to JSON with an object mapper configured like the
+ * one Spring MVC uses, for a page of products and a page of order items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private Response productPage;
+    private Response orderItemPage;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        List<ProductDto> products = new ArrayList<>(pageSize);
+        List<OrderItemDto> orderItems = new ArrayList<>(pageSize);
+        UserDto user = new UserDto();
+        user.setId(1L);
+        user.setName("Benchmark User");
+        user.setEmail("benchmark@test.com");
+        user.setPhoneNumber("0000000000");
+        user.setRole("USER");
+        for (long id = 1; id <= pageSize; id++) {
+            ProductDto product = new ProductDto();
+            product.setId(id);
+            product.setName("Product " + id);
+            product.setDescription("Description of product " + id);
+            product.setImageUrl("https://cdn.example.com/images/" + id + ".jpg");
+            product.setPrice(BigDecimal.valueOf(id * 100, 2));
+            products.add(product);
+
+            OrderItemDto orderItem = new OrderItemDto();
+            orderItem.setId(id);
+            orderItem.setQuantity(1);
+            orderItem.setPrice(product.getPrice());
+            orderItem.setStatus("PENDING");
+            orderItem.setCreatedAt(LocalDateTime.now());
+            orderItem.setProduct(product);
+            orderItem.setUser(user);
+            orderItems.add(orderItem);
+        }
+
+        productPage = Response.builder().status(200).data(products).totalPage(10).totalElement(10L * pageSize).build();
+        orderItemPage = Response.builder().status(200).data(orderItems).nextCursor("MTAw").build();
+    }
+
+    @Benchmark
+    public byte[] productPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(productPage);
+    }
+
+    @Benchmark
+    public byte[] orderItemPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(orderItemPage);
+    }
+}
@@ -2,12 +2,15 @@ package com.ridoh.Order_Management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * The main entry point for the Order Management Application.
  * This class bootstraps the Spring Boot application.
+ * Scheduling is enabled for background jobs such as the email outbox dispatcher.
  */
 @SpringBootApplication
+@EnableScheduling
 public class OrderManagementApplication {
 
 	/**
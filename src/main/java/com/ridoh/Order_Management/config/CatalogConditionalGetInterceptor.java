@@ -0,0 +1,56 @@
+package com.ridoh.Order_Management.config;
+
+import com.ridoh.Order_Management.service.CatalogCache;
+import com.ridoh.Order_Management.service.CatalogCache.CatalogVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers conditional GET requests on the catalog endpoints with 304 when the catalog has not changed.
+ * <p>
+ * Every catalog response carries the {@link CatalogCache#currentVersion() catalog version} as a weak
+ * {@code ETag} and {@code Last-Modified}, together with a {@code Cache-Control} header. A request
+ * whose {@code If-None-Match} or {@code If-Modified-Since} still matches is answered before the
+ * controller runs, without serializing a body. The version is derived from the catalog revision in
+ * the database, so a response from one instance is revalidated by any other; the revision itself is
+ * only re-read every {@code catalog.http.revision-refresh-millis}.
+ * </p>
+ * <p>
+ * The validators are taken before the controller reads the catalog, so a change committed while a
+ * response is being built can only make the client fetch again, never keep a stale body.
+ * </p>
+ */
+public class CatalogConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final CatalogCache catalogCache;
+    private final String cacheControl;
+
+    /**
+     * @param catalogCache  the catalog cache that tracks the catalog version
+     * @param maxAgeSeconds how long clients may use a response before revalidating it
+     */
+    public CatalogConditionalGetInterceptor(CatalogCache catalogCache, long maxAgeSeconds) {
+        this.catalogCache = catalogCache;
+        this.cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS)
+                .cachePublic()
+                .mustRevalidate()
+                .getHeaderValue();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        CatalogVersion version = catalogCache.currentVersion();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        return !new ServletWebRequest(request, response).checkNotModified(version.etag(), version.lastModified());
+    }
+}
@@ -0,0 +1,132 @@
+package com.ridoh.Order_Management.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A concurrency limit that adapts to latency, after the gradient algorithm of Netflix's
+ * concurrency-limits library.
+ * <p>
+ * Each completed request is a latency sample. The limit follows the gradient between the long-term
+ * average latency and the latest sample: while latency stays near its average the limit grows by
+ * about its square root, and when latency rises above {@code TOLERANCE} times the average (requests
+ * start queuing behind a slow database or mail server) the limit shrinks, by at most half per step.
+ * Changes are smoothed so that one slow request does not halve the limit. The long-term average
+ * slowly follows lasting changes in latency, and is pulled down quickly once a slowdown is over so
+ * the limit recovers.
+ * </p>
+ * <p>
+ * The limit does not grow while fewer than half of its permits are in use, so a quiet period does
+ * not leave it far above what the server has been shown to handle.
+ * </p>
+ * <p>
+ * Every release updates the limit, so the limit and the average latency are kept in one immutable
+ * {@link State} that is swapped with compare-and-set; releases never wait on a lock or pin a
+ * virtual thread's carrier.
+ * </p>
+ */
+public class GradientConcurrencyLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int LONG_WINDOW = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private final AtomicReference<State> state;
+
+    /**
+     * @param initialLimit the limit before any latency has been measured
+     * @param minLimit     the lowest the limit goes, however slow requests get
+     * @param maxLimit     the highest the limit goes, however fast requests are
+     */
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.state = new AtomicReference<>(new State(Math.max(minLimit, Math.min(maxLimit, initialLimit)), 0));
+    }
+
+    /**
+     * Takes a permit if fewer requests than the limit are in flight.
+     *
+     * @return whether the request may proceed; if so, {@link #release(long)} must be called when it completes
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns a permit and adjusts the limit to the request's latency.
+     *
+     * @param rttNanos how long the request took
+     */
+    public void release(long rttNanos) {
+        int inflightBefore = inflight.getAndDecrement();
+        update(rttNanos, inflightBefore);
+    }
+
+    void update(long rttNanos, int inflightBefore) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        while (true) {
+            State current = state.get();
+            State next = next(current, rttNanos, inflightBefore);
+            if (state.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private State next(State current, long rttNanos, int inflightBefore) {
+        double limit = current.limit();
+        double longRttNanos = current.longRttNanos() == 0
+                ? rttNanos
+                : current.longRttNanos() + (rttNanos - current.longRttNanos()) / LONG_WINDOW;
+        // latency has dropped well below its average: forget the slowdown faster than the window would
+        if (longRttNanos > 2 * rttNanos) {
+            longRttNanos *= 0.95;
+        }
+        if (inflightBefore < limit / 2) {
+            return new State(limit, longRttNanos);
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - SMOOTHING) + target * SMOOTHING;
+        return new State(Math.max(minLimit, Math.min(maxLimit, smoothed)), longRttNanos);
+    }
+
+    /**
+     * @return the current number of requests allowed in flight
+     */
+    public int getLimit() {
+        return (int) state.get().limit();
+    }
+
+    /**
+     * @return the number of requests in flight
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * The adaptive part of the limiter, replaced as a whole on every update.
+     *
+     * @param limit        the current limit, before rounding down
+     * @param longRttNanos the long-term average latency, or 0 before the first sample
+     */
+    private record State(double limit, double longRttNanos) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.ridoh.Order_Management.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for Hibernate/JPA tuning.
+ * <p>
+ * Enables JDBC batching so that an order and all of its items are written with a handful of
+ * batched statements instead of one round trip per row. For MySQL, batching only reaches the
+ * server as multi-row inserts when the JDBC URL sets {@code rewriteBatchedStatements=true}.
+ * </p>
+ *
+ * @see HibernatePropertiesCustomizer
+ */
+@Configuration
+public class JpaConfig {
+
+    @Value("${jpa.jdbc.batch-size:50}")
+    private int jdbcBatchSize;
+
+    /**
+     * Applies the JDBC batching settings to Hibernate.
+     *
+     * @return a {@link HibernatePropertiesCustomizer} with batching enabled
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", jdbcBatchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.ridoh.Order_Management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ridoh.Order_Management.config.LoadSheddingFilter.Budget;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration class for load shedding with adaptive concurrency limits.
+ * <p>
+ * Every {@link Budget} gets a {@link GradientConcurrencyLimit} configured by
+ * {@code concurrency.<budget>.initial-limit}, {@code min-limit} and {@code max-limit}, for example
+ * {@code concurrency.checkout.max-limit=100}. The filter runs ahead of Spring Security, so rejected
+ * requests cost no token validation, and after the request metrics filter, so rejections are
+ * counted in {@code http.server.requests}. Set {@code concurrency.enabled=false} to turn it off.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "concurrency.enabled", matchIfMissing = true)
+public class LoadSheddingConfig {
+
+    /**
+     * Creates the load shedding filter with a limit per budget.
+     *
+     * @param environment       the environment holding the budget settings
+     * @param meterRegistry     the registry the limits are published to
+     * @param objectMapper      writes the rejection body
+     * @param retryAfterSeconds the {@code Retry-After} value sent with rejections
+     * @return the filter, registered ahead of Spring Security
+     */
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(
+            Environment environment, MeterRegistry meterRegistry, ObjectMapper objectMapper,
+            @Value("${concurrency.retry-after-seconds:1}") int retryAfterSeconds) {
+        Map<Budget, GradientConcurrencyLimit> limits = new EnumMap<>(Budget.class);
+        limits.put(Budget.CATALOG, limit(environment, "catalog", 100, 10, 1000));
+        limits.put(Budget.CHECKOUT, limit(environment, "checkout", 20, 2, 200));
+        limits.put(Budget.ADMIN, limit(environment, "admin", 10, 1, 50));
+
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(
+                new LoadSheddingFilter(limits, meterRegistry, objectMapper, retryAfterSeconds));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+
+    private static GradientConcurrencyLimit limit(Environment environment, String budget,
+                                                  int initialLimit, int minLimit, int maxLimit) {
+        String prefix = "concurrency." + budget + ".";
+        return new GradientConcurrencyLimit(
+                environment.getProperty(prefix + "initial-limit", Integer.class, initialLimit),
+                environment.getProperty(prefix + "min-limit", Integer.class, minLimit),
+                environment.getProperty(prefix + "max-limit", Integer.class, maxLimit));
+    }
+}
@@ -0,0 +1,144 @@
+package com.ridoh.Order_Management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ridoh.Order_Management.dto.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Rejects requests with 503 instead of queuing them when an endpoint class is at its concurrency limit.
+ * <p>
+ * Requests are sorted into {@link Budget budgets} by path and method, and every budget has its own
+ * {@link GradientConcurrencyLimit}, so a slowdown at checkout cannot take the catalog down with it.
+ * When a budget is full the request is answered at once with 503 and a {@code Retry-After} header
+ * rather than waiting for a Tomcat thread or a database connection; clients back off and the
+ * requests already admitted finish at normal latency. Authentication, the status event streams,
+ * actuator endpoints and static files are not limited.
+ * </p>
+ * <p>
+ * The limit and in-flight requests of every budget are published as the
+ * {@code http.server.concurrency.limit} and {@code http.server.concurrency.inflight} gauges and
+ * rejections as the {@code http.server.concurrency.rejected} counter, all tagged with the budget.
+ * </p>
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final Map<Budget, GradientConcurrencyLimit> limits;
+    private final Map<Budget, Counter> rejected = new EnumMap<>(Budget.class);
+    private final ObjectMapper objectMapper;
+    private final String retryAfterSeconds;
+
+    /**
+     * @param limits            the limit of every budget
+     * @param meterRegistry     the registry the limits and rejections are published to
+     * @param objectMapper      writes the rejection body
+     * @param retryAfterSeconds the {@code Retry-After} value sent with rejections
+     */
+    public LoadSheddingFilter(Map<Budget, GradientConcurrencyLimit> limits, MeterRegistry meterRegistry,
+                              ObjectMapper objectMapper, int retryAfterSeconds) {
+        this.limits = new EnumMap<>(limits);
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = Integer.toString(retryAfterSeconds);
+
+        this.limits.forEach((budget, limit) -> {
+            String tag = budget.name().toLowerCase();
+            Gauge.builder("http.server.concurrency.limit", limit, GradientConcurrencyLimit::getLimit)
+                    .description("Requests allowed in flight")
+                    .tag("budget", tag)
+                    .register(meterRegistry);
+            Gauge.builder("http.server.concurrency.inflight", limit, GradientConcurrencyLimit::getInflight)
+                    .description("Requests in flight")
+                    .tag("budget", tag)
+                    .register(meterRegistry);
+            rejected.put(budget, Counter.builder("http.server.concurrency.rejected")
+                    .description("Requests rejected because their budget was at its limit")
+                    .tag("budget", tag)
+                    .register(meterRegistry));
+        });
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Budget budget = Budget.of(request);
+        GradientConcurrencyLimit limit = budget != null ? limits.get(budget) : null;
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!limit.tryAcquire()) {
+            rejected.get(budget).increment();
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - start);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Response.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message("Server is busy, please retry later")
+                .build());
+    }
+
+    /**
+     * Endpoint classes that get separate concurrency limits.
+     */
+    public enum Budget {
+
+        /** Product and category reads. */
+        CATALOG,
+
+        /** Placing orders. */
+        CHECKOUT,
+
+        /** Catalog changes, order status updates, reports and user management. */
+        ADMIN;
+
+        /**
+         * @param request the incoming request
+         * @return the budget the request is counted against, or {@code null} if it is not limited
+         */
+        static Budget of(HttpServletRequest request) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            boolean read = HttpMethod.GET.matches(request.getMethod());
+
+            if (path.startsWith("/product/") || path.startsWith("/category/")) {
+                return read ? CATALOG : ADMIN;
+            }
+            if (path.equals("/order/create")) {
+                return CHECKOUT;
+            }
+            if (path.startsWith("/order/") && !path.equals("/order/events")) {
+                return ADMIN;
+            }
+            if (path.equals("/user/get-all")) {
+                return ADMIN;
+            }
+            return null;
+        }
+    }
+}
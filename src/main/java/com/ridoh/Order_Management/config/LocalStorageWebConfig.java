@@ -0,0 +1,31 @@
+package com.ridoh.Order_Management.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.nio.file.Path;
+
+/**
+ * Serves objects written by the filesystem storage backend when {@code storage.type=local}.
+ * Stored objects are content-addressed and never change, so they are cached by clients for a year.
+ */
+@Configuration
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalStorageWebConfig implements WebMvcConfigurer {
+
+    @Value("${storage.local.root:storage}")
+    private Path root;
+
+    @Value("${storage.local.base-url:/files}")
+    private String baseUrl;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler(baseUrl + "/**")
+                .addResourceLocations(root.toAbsolutePath().normalize().toUri().toString())
+                .setCachePeriod(365 * 24 * 60 * 60);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ridoh.Order_Management.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Configuration class for the metrics exported on {@code /actuator/prometheus}.
+ * <p>
+ * Spring Boot already times every controller endpoint ({@code http.server.requests}) and binds
+ * the JVM, Tomcat and connection pool metrics; the caches publish their own statistics. This
+ * class adds the number of SQL statements per request, and {@link ServiceMetricsAspect} times the
+ * service layer, including the mail and storage calls. Defaults for the exposed endpoints and the
+ * latency histograms are in {@code metrics.properties} and can be overridden in
+ * {@code application.properties}.
+ * </p>
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+
+    /**
+     * Counts the SQL statements of each request.
+     *
+     * @param meterRegistry the registry the statement counts are published to
+     * @return the statement counter, registered as a servlet filter
+     */
+    @Bean
+    public SqlStatementMetrics sqlStatementMetrics(MeterRegistry meterRegistry) {
+        return new SqlStatementMetrics(meterRegistry);
+    }
+
+    /**
+     * Installs the statement counter as Hibernate's statement inspector.
+     *
+     * @param sqlStatementMetrics the statement counter
+     * @return a {@link HibernatePropertiesCustomizer} that registers the inspector
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementMetricsCustomizer(SqlStatementMetrics sqlStatementMetrics) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementMetrics);
+    }
+}
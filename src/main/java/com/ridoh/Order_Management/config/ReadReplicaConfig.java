@@ -0,0 +1,106 @@
+package com.ridoh.Order_Management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuration class for serving read-only transactions from a read replica.
+ * <p>
+ * Active when {@code spring.datasource.replica.url} is set; otherwise the single auto-configured
+ * data source is used as before. The primary pool is configured by {@code spring.datasource.*} and
+ * {@code spring.datasource.hikari.*}, the replica pool by {@code spring.datasource.replica.*} and
+ * {@code spring.datasource.replica.hikari.*}. {@code @Transactional(readOnly = true)} service
+ * methods and the inherited CRUD read methods of the repositories run on the replica; declared query
+ * methods only do so when called from a read-only service method. Read-only transactions use
+ * Hibernate read-only sessions that skip dirty checking and entity snapshots; everything else runs
+ * on the primary.
+ * Users read from the primary for {@code datasource.replica.read-your-writes-ms} after a write, see
+ * {@link ReplicaLagGuard}.
+ * </p>
+ * <p>
+ * Connections are released at the end of each transaction instead of being held by the open
+ * session for the whole request, so every transaction of a request is routed on its own.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    /**
+     * The connection pool of the primary database.
+     *
+     * @param properties the {@code spring.datasource.*} properties
+     * @return the primary pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * The connection pool of the read replica.
+     *
+     * @param environment the environment holding the {@code spring.datasource.replica.*} properties
+     * @return the replica pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(Environment environment) {
+        DataSourceProperties properties = Binder.get(environment)
+                .bind("spring.datasource.replica", DataSourceProperties.class)
+                .get();
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    /**
+     * The data source used by JPA and JDBC, routing each transaction to the primary or the replica.
+     *
+     * @param primary      the primary pool
+     * @param replica      the replica pool
+     * @param windowMillis how long after a write a user's reads stay on the primary
+     * @return the routing data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 @Value("${datasource.replica.read-your-writes-ms:5000}") long windowMillis) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica,
+                new ReplicaLagGuard(Duration.ofMillis(windowMillis)));
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Releases Hibernate's connection after every transaction, so the next transaction of the same
+     * request is routed again.
+     *
+     * @return a {@link HibernatePropertiesCustomizer} setting the connection handling mode
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,45 @@
+package com.ridoh.Order_Management.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routes connections of read-only transactions to the replica and all others to the primary.
+ * <p>
+ * The route is decided when a connection is taken, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; the proxy takes the
+ * connection on the first statement, after the transaction has been marked read-only. Read-only
+ * transactions of users who wrote recently stay on the primary, see {@link ReplicaLagGuard}.
+ * </p>
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaLagGuard replicaLagGuard;
+
+    /**
+     * @param primary         the data source that takes writes
+     * @param replica         the data source that serves read-only transactions
+     * @param replicaLagGuard decides which readers must stay on the primary
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagGuard replicaLagGuard) {
+        this.replicaLagGuard = replicaLagGuard;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                replicaLagGuard.recordWrite();
+            }
+            return Route.PRIMARY;
+        }
+        return replicaLagGuard.mustReadPrimary() ? Route.PRIMARY : Route.REPLICA;
+    }
+}
@@ -0,0 +1,60 @@
+package com.ridoh.Order_Management.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Gives users read-your-writes consistency while reads are served from a lagging replica.
+ * <p>
+ * Every user who opens a read-write transaction is remembered for a window that should exceed the
+ * replica's replication lag. Read-only transactions of remembered users are sent to the primary, so
+ * a user who has just placed an order sees it in their order history, while everyone else keeps
+ * reading from the replica.
+ * </p>
+ */
+public class ReplicaLagGuard {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    /**
+     * @param window how long after a write the user's reads go to the primary
+     */
+    public ReplicaLagGuard(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Remembers that the current user is writing.
+     */
+    public void recordWrite() {
+        String user = currentUser();
+        if (user != null) {
+            recentWriters.put(user, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * @return whether the current user wrote recently enough that the replica may not have the write yet
+     */
+    public boolean mustReadPrimary() {
+        String user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // anonymous requests all share one name; remembering it would send every guest to the primary
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
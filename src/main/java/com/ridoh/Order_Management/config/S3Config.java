@@ -0,0 +1,84 @@
+package com.ridoh.Order_Management.config;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Configuration class for the Amazon S3 client.
+ * <p>
+ * One client is shared by the whole application, so its connection pool, TLS sessions and region
+ * resolution are reused across uploads. Setting {@code aws.s3.endpoint} points the client at an
+ * S3-compatible stand-in (e.g. MinIO or LocalStack) using path-style access.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3Config {
+
+    @Value("${aws.s3.access.key}")
+    private String awsS3AccessKey;
+
+    @Value("${aws.s3.secret.key}")
+    private String awsS3SecretKey;
+
+    @Value("${aws.s3.region:eu-north-1}")
+    private String region;
+
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${aws.s3.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${aws.s3.multipart-threshold-mb:16}")
+    private long multipartThresholdMb;
+
+    /**
+     * Creates the shared, connection-pooled S3 client.
+     *
+     * @return the S3 client
+     */
+    @Bean(destroyMethod = "shutdown")
+    public AmazonS3 amazonS3() {
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials(awsS3AccessKey, awsS3SecretKey)))
+                .withClientConfiguration(new ClientConfiguration()
+                        .withMaxConnections(maxConnections)
+                        .withTcpKeepAlive(true));
+
+        if (StringUtils.hasText(endpoint)) {
+            builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, region))
+                    .withPathStyleAccessEnabled(true);
+        } else {
+            builder.withRegion(region);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates the transfer manager used for multipart uploads of large objects. It shares the
+     * client above and leaves shutting it down to the client bean.
+     *
+     * @param amazonS3 the shared S3 client
+     * @return the transfer manager
+     */
+    @Bean(destroyMethod = "")
+    public TransferManager transferManager(AmazonS3 amazonS3) {
+        return TransferManagerBuilder.standard()
+                .withS3Client(amazonS3)
+                .withMultipartUploadThreshold(multipartThresholdMb * 1024 * 1024)
+                .withShutDownThreadPools(false)
+                .build();
+    }
+}
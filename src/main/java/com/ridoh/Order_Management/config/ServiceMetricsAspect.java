@@ -0,0 +1,89 @@
+package com.ridoh.Order_Management.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the service implementations and of the storage backends.
+ * <p>
+ * Each method gets a {@code service.method} timer and a {@code service.method.errors} counter,
+ * tagged with the simple class name and the method name; the errors counter is also tagged with
+ * the exception type. The meters are looked up once per method and cached, and the elapsed time
+ * is recorded from {@link System#nanoTime()}, so a timed call allocates nothing beyond what the
+ * proxy invocation already does. Latency histograms are enabled per meter name with
+ * {@code management.metrics.distribution.percentiles-histogram.service.method}.
+ * </p>
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, MethodMeters> metersByMethod = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.ridoh.Order_Management.service.impl..*(..)) " +
+            "|| execution(public * com.ridoh.Order_Management.service.Interface.StorageService+.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMeters meters = meters(((MethodSignature) joinPoint.getSignature()).getMethod());
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            meters.error(e);
+            throw e;
+        } finally {
+            meters.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private MethodMeters meters(Method method) {
+        MethodMeters meters = metersByMethod.get(method);
+        return meters != null ? meters : metersByMethod.computeIfAbsent(method, this::register);
+    }
+
+    private MethodMeters register(Method method) {
+        String className = method.getDeclaringClass().getSimpleName();
+        Timer timer = Timer.builder("service.method")
+                .description("Time spent in service methods")
+                .tag("class", className)
+                .tag("method", method.getName())
+                .register(meterRegistry);
+        return new MethodMeters(meterRegistry, className, method.getName(), timer);
+    }
+
+    /**
+     * The meters of one service method. Error counters are created on the first failure of each
+     * exception type.
+     */
+    private record MethodMeters(MeterRegistry meterRegistry, String className, String methodName, Timer timer,
+                                Map<Class<?>, Counter> errors) {
+
+        MethodMeters(MeterRegistry meterRegistry, String className, String methodName, Timer timer) {
+            this(meterRegistry, className, methodName, timer, new ConcurrentHashMap<>());
+        }
+
+        void error(Throwable e) {
+            errors.computeIfAbsent(e.getClass(), type -> Counter.builder("service.method.errors")
+                    .description("Service method calls that ended with an exception")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("exception", type.getSimpleName())
+                    .register(meterRegistry)).increment();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ridoh.Order_Management.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the SQL statements Hibernate prepares while serving each HTTP request.
+ * <p>
+ * Registered both as Hibernate's {@link StatementInspector}, which increments a per-thread counter
+ * for every statement, and as a servlet filter, which resets the counter when a request starts and
+ * records it in the {@code http.server.requests.sql} summary, tagged with the HTTP method and the
+ * matched URI pattern, when the request completes. Statements issued on other threads, such as
+ * after-commit work or scheduled jobs, are not attributed to any request.
+ * </p>
+ */
+public class SqlStatementMetrics extends OncePerRequestFilter implements StatementInspector {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private static final ThreadLocal<int[]> STATEMENTS = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Map<String, DistributionSummary>> summaries = new ConcurrentHashMap<>();
+
+    public SqlStatementMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int[] statements = STATEMENTS.get();
+        statements[0] = 0;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            summary(request.getMethod(), pattern != null ? pattern.toString() : UNKNOWN_URI).record(statements[0]);
+        }
+    }
+
+    private DistributionSummary summary(String method, String uri) {
+        Map<String, DistributionSummary> byMethod = summaries.get(uri);
+        if (byMethod == null) {
+            byMethod = summaries.computeIfAbsent(uri, key -> new ConcurrentHashMap<>());
+        }
+        DistributionSummary summary = byMethod.get(method);
+        return summary != null ? summary : byMethod.computeIfAbsent(method, key -> DistributionSummary
+                .builder("http.server.requests.sql")
+                .description("SQL statements prepared per HTTP request")
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry));
+    }
+}
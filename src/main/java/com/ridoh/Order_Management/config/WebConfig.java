@@ -0,0 +1,34 @@
+package com.ridoh.Order_Management.config;
+
+import com.ridoh.Order_Management.service.CatalogCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class for Spring MVC.
+ * <p>
+ * Registers conditional GET handling for the product and category endpoints. Product search is
+ * left out: its results come from the search index, which is refreshed after the catalog version
+ * changes. Clients may reuse catalog responses for {@code catalog.http.max-age-seconds} before
+ * revalidating them; the default of 0 makes them revalidate on every use.
+ * </p>
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CatalogCache catalogCache;
+
+    @Value("${catalog.http.max-age-seconds:0}")
+    private long maxAgeSeconds;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new CatalogConditionalGetInterceptor(catalogCache, maxAgeSeconds))
+                .addPathPatterns("/product/**", "/category/**")
+                .excludePathPatterns("/product/search");
+    }
+}
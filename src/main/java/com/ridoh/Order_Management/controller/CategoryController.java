@@ -42,5 +42,14 @@ public class CategoryController {
     public ResponseEntity<Response> getCategoryById(@PathVariable Long categoryId){
         return ResponseEntity.ok(categoryService.getCategoryById(categoryId));
     }
+
+    @GetMapping("/{categoryId}/products")
+    public ResponseEntity<Response> getCategoryProducts(
+            @PathVariable Long categoryId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ){
+        return ResponseEntity.ok(categoryService.getCategoryProducts(categoryId, page, size));
+    }
 }
 
@@ -1,18 +1,24 @@
 package com.ridoh.Order_Management.controller;
 
+import com.ridoh.Order_Management.dto.OrderItemStatusRequest;
 import com.ridoh.Order_Management.dto.OrderRequest;
 import com.ridoh.Order_Management.dto.Response;
 import com.ridoh.Order_Management.enums.OrderStatus;
 import com.ridoh.Order_Management.service.Interface.OrderItemService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 
 @RestController
@@ -23,8 +29,9 @@ public class OrderItemController {
     private final OrderItemService orderItemService;
 
     @PostMapping("/create")
-    public ResponseEntity<Response> placeOrder(@RequestBody OrderRequest orderRequest){
-        return ResponseEntity.ok(orderItemService.placeOrder(orderRequest));
+    public ResponseEntity<Response> placeOrder(@RequestBody OrderRequest orderRequest,
+                                               @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey){
+        return ResponseEntity.ok(orderItemService.placeOrder(orderRequest, idempotencyKey));
     }
 
     @PutMapping("/update-item-status/{orderItemId}")
@@ -34,6 +41,17 @@ public class OrderItemController {
     }
 
 
+    @PutMapping("/update-item-status")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> updateOrderItemStatuses(@RequestBody OrderItemStatusRequest request){
+        return ResponseEntity.ok(orderItemService.updateOrderItemStatuses(request.getOrderItemIds(), request.getStatus()));
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatusEvents(){
+        return orderItemService.subscribeToStatusEvents();
+    }
+
     @GetMapping("/filter")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<Response> filterOrderItems(
@@ -42,14 +60,43 @@ public class OrderItemController {
             @RequestParam(required = false) String status,
             @RequestParam(required = false) Long itemId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "1000") int size
+            @RequestParam(defaultValue = "1000") int size,
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor
 
     ){
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
         OrderStatus orderStatus = status != null ? OrderStatus.valueOf(status.toUpperCase()) : null;
 
+        // pagination=cursor (or any cursor) switches to keyset paging without a count query
+        if (cursor != null || "cursor".equalsIgnoreCase(pagination)) {
+            return ResponseEntity.ok(orderItemService.filterOrderItemsByCursor(orderStatus, startDate, endDate, itemId, cursor, size));
+        }
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
         return ResponseEntity.ok(orderItemService.filterOrderItems(orderStatus, startDate, endDate, itemId, pageable));
 
     }
 
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public void exportOrderItems(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)LocalDateTime endDate,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long itemId,
+            HttpServletResponse response
+    ) throws IOException {
+        OrderStatus orderStatus = status != null ? OrderStatus.valueOf(status.toUpperCase()) : null;
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"order-items.ndjson\"");
+        orderItemService.exportOrderItems(orderStatus, startDate, endDate, itemId, response.getOutputStream());
+    }
+
+    @PostMapping("/history/backfill")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> backfillOrderHistory(){
+        return ResponseEntity.ok(orderItemService.backfillOrderHistory());
+    }
 }
@@ -26,12 +26,16 @@ public class ProductController {
             @RequestParam MultipartFile image,
             @RequestParam String name,
             @RequestParam String description,
-            @RequestParam BigDecimal price
+            @RequestParam BigDecimal price,
+            @RequestParam(required = false) Integer stock
     ){
         if (categoryId == null || image.isEmpty() || name.isEmpty() || description.isEmpty() || price == null){
             throw new InvalidCredentialsException("All Fields are Required");
         }
-        return ResponseEntity.ok(productService.createProduct(categoryId, image, name, description, price));
+        if (stock != null && stock < 0){
+            throw new InvalidCredentialsException("Stock must not be negative");
+        }
+        return ResponseEntity.ok(productService.createProduct(categoryId, image, name, description, price, stock));
     }
 
 
@@ -43,9 +47,10 @@ public class ProductController {
             @RequestParam(required = false)  MultipartFile image,
             @RequestParam(required = false)  String name,
             @RequestParam(required = false)  String description,
-            @RequestParam(required = false)  BigDecimal price
+            @RequestParam(required = false)  BigDecimal price,
+            @RequestParam(required = false)  Integer stock
     ){
-        return ResponseEntity.ok(productService.updateProduct(productId, categoryId, image, name, description, price));
+        return ResponseEntity.ok(productService.updateProduct(productId, categoryId, image, name, description, price, stock));
     }
 
     @DeleteMapping("/delete/{productId}")
@@ -62,8 +67,17 @@ public class ProductController {
     }
 
     @GetMapping("/get-all")
-    public ResponseEntity<Response> getAllProducts(){
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<Response> getAllProducts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor
+    ){
+        // pagination=cursor (or any cursor) switches to keyset paging without a count query
+        if (cursor != null || "cursor".equalsIgnoreCase(pagination)) {
+            return ResponseEntity.ok(productService.getAllProductsByCursor(cursor, size));
+        }
+        return ResponseEntity.ok(productService.getAllProducts(page, size));
     }
 
 
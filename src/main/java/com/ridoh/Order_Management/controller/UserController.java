@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -24,7 +25,10 @@ public class UserController {
     }
 
     @GetMapping("/my-info")
-    public ResponseEntity<Response> getUserInfoAndOrderHistory(){
-        return ResponseEntity.ok(userService.getUserInfoAndOrderHistory());
+    public ResponseEntity<Response> getUserInfoAndOrderHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ){
+        return ResponseEntity.ok(userService.getUserInfoAndOrderHistory(cursor, size));
     }
 }
\ No newline at end of file
@@ -11,7 +11,7 @@ import java.util.List;
 /**
  * Data Transfer Object (DTO) for Category information.
  * This class is used to transfer category-related data between different layers of the application.
- * It includes fields for storing category details such as name and associated products.
+ * It includes fields for storing category details such as name, product count and associated products.
  */
 @Data
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -34,4 +34,22 @@ public class CategoryDto {
      * List of products associated with this category.
      */
     private List<ProductDto> productList;
+
+    /**
+     * Number of products in this category, returned by the category summary endpoints.
+     */
+    private Long productCount;
+
+    /**
+     * Creates a category summary without its product list.
+     *
+     * @param id           the category id
+     * @param name         the category name
+     * @param productCount the number of products in the category
+     */
+    public CategoryDto(Long id, String name, Long productCount) {
+        this.id = id;
+        this.name = name;
+        this.productCount = productCount;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.ridoh.Order_Management.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for moving many order items to the same status at once.
+ */
+@Data
+public class OrderItemStatusRequest {
+
+    /**
+     * The IDs of the order items to update.
+     */
+    private List<Long> orderItemIds;
+
+    /**
+     * The requested status, e.g. SHIPPED.
+     */
+    private String status;
+}
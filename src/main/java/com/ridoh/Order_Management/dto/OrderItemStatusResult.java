@@ -0,0 +1,49 @@
+package com.ridoh.Order_Management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) describing what a bulk status update did to one order item.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderItemStatusResult {
+
+    /**
+     * The ID of the order item.
+     */
+    private Long id;
+
+    /**
+     * The status of the order item before the update, absent if the item does not exist.
+     */
+    private String previousStatus;
+
+    /**
+     * The outcome for this order item.
+     */
+    private Outcome outcome;
+
+    /**
+     * Possible outcomes of a bulk status update for one order item.
+     */
+    public enum Outcome {
+
+        /** The status was changed. */
+        UPDATED,
+
+        /** The order item already had the requested status. */
+        UNCHANGED,
+
+        /** The transition table does not allow the change from the current status. */
+        INVALID_TRANSITION,
+
+        /** No order item with this ID exists. */
+        NOT_FOUND
+    }
+}
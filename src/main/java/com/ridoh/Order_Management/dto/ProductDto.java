@@ -45,6 +45,16 @@ public class ProductDto {
      */
     private String imageUrl;
 
+    /**
+     * URL of the small thumbnail of the product image, absent until it has been generated.
+     */
+    private String thumbnailUrl;
+
+    /**
+     * URL of the medium-size product image, absent until it has been generated.
+     */
+    private String mediumImageUrl;
+
     /**
      * Category to which the product belongs.
      */
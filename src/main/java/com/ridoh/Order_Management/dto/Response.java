@@ -55,6 +55,11 @@ public class Response {
      */
     private long totalElement;
 
+    /**
+     * Cursor to pass back for the next page of a keyset-paginated response; absent on the last page.
+     */
+    private String nextCursor;
+
     /**
      * Generic data field to hold various response objects (e.g., Address, User, Category, etc.).
      */
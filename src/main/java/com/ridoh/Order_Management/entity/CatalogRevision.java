@@ -0,0 +1,41 @@
+package com.ridoh.Order_Management.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Entity class representing the revision of the product catalog shared by all application instances.
+ * <p>
+ * The table holds a single row that every catalog write advances in its own transaction, so the
+ * revision changes exactly when a catalog change commits, whichever instance made it.
+ * </p>
+ * This class maps to the "catalog_revisions" table in the database.
+ */
+@Data
+@Entity
+@Table(name = "catalog_revisions")
+public class CatalogRevision {
+
+    /**
+     * The ID of the single catalog revision row.
+     */
+    public static final long ID = 1L;
+
+    /**
+     * Always {@link #ID}.
+     */
+    @Id
+    private Long id = ID;
+
+    /**
+     * The number of catalog changes committed so far.
+     */
+    private long revision;
+
+    /**
+     * When the catalog last changed, in epoch milliseconds, always in a later second than the
+     * previous change.
+     */
+    @Column(name = "modified_at")
+    private long modifiedAt;
+}
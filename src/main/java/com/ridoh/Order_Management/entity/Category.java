@@ -38,4 +38,15 @@ public class Category {
      */
     @Column(name= "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    /**
+     * Timestamp of the last change to the category.
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
 }
@@ -0,0 +1,85 @@
+package com.ridoh.Order_Management.entity;
+
+import com.ridoh.Order_Management.enums.EmailStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing an email waiting to be delivered.
+ * Rows are written in the same transaction as the business change that triggers the email,
+ * and are picked up later by the outbox dispatcher.
+ * This class maps to the "email_outbox" table in the database.
+ */
+@Data
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class EmailOutbox {
+
+    /**
+     * Unique identifier for the outbox entry.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Email address of the recipient.
+     */
+    private String recipient;
+
+    /**
+     * Subject line of the email.
+     */
+    private String subject;
+
+    /**
+     * HTML body of the email.
+     */
+    @Lob
+    private String body;
+
+    /**
+     * Current delivery state of the email.
+     */
+    @Enumerated(EnumType.STRING)
+    private EmailStatus status = EmailStatus.PENDING;
+
+    /**
+     * Number of delivery attempts made so far.
+     */
+    private int attempts;
+
+    /**
+     * Earliest time at which the dispatcher may (re)try sending the email.
+     */
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt = LocalDateTime.now();
+
+    /**
+     * Timestamp of the most recent delivery attempt.
+     */
+    @Column(name = "last_attempt_at")
+    private LocalDateTime lastAttemptAt;
+
+    /**
+     * Error message of the most recent failed attempt, if any.
+     */
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    /**
+     * Timestamp indicating when the email was handed over to the mail server.
+     */
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    /**
+     * Timestamp indicating when the outbox entry was created.
+     */
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,60 @@
+package com.ridoh.Order_Management.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing an idempotency key sent with a placed order.
+ * <p>
+ * The row is written in the same transaction as the order, so a key is recorded exactly when its
+ * order exists. Retries with the same key are answered from it instead of placing the order again
+ * until the key expires.
+ * </p>
+ * This class maps to the "idempotency_keys" table in the database.
+ */
+@Data
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+public class IdempotencyKey {
+
+    /**
+     * The ID of the user who sent the key, and the key itself, as {@code userId:key}.
+     */
+    @Id
+    @Column(length = 300)
+    private String id;
+
+    /**
+     * The user who sent the key.
+     */
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * The order placed by the first request with this key.
+     */
+    @Column(name = "order_id")
+    private Long orderId;
+
+    /**
+     * SHA-256 fingerprint of the order request, used to reject the key for a different order.
+     */
+    @Column(name = "request_hash", length = 64)
+    private String requestHash;
+
+    /**
+     * Timestamp when the order was placed.
+     */
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    /**
+     * Timestamp after which the key is forgotten and may place a new order.
+     */
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+}
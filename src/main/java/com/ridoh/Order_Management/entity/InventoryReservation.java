@@ -0,0 +1,65 @@
+package com.ridoh.Order_Management.entity;
+
+import com.ridoh.Order_Management.enums.ReservationStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing stock held for one order item.
+ * The stock itself is decremented on the product when the order is placed; this record remembers
+ * how much to give back if the order item is cancelled or the reservation expires unconfirmed.
+ * This class maps to the "inventory_reservations" table in the database.
+ */
+@Data
+@Entity
+@Table(name = "inventory_reservations", indexes = {
+        @Index(name = "idx_inventory_reservations_status_expires_at", columnList = "status, expires_at"),
+        @Index(name = "idx_inventory_reservations_order_item_id", columnList = "order_item_id")
+})
+public class InventoryReservation {
+
+    /**
+     * Unique identifier for the reservation.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_reservations_seq")
+    @SequenceGenerator(name = "inventory_reservations_seq", sequenceName = "inventory_reservations_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The product the stock was taken from.
+     */
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    /**
+     * The order item the stock is held for.
+     */
+    @Column(name = "order_item_id", nullable = false)
+    private Long orderItemId;
+
+    /**
+     * Number of units held.
+     */
+    private int quantity;
+
+    /**
+     * Current state of the reservation.
+     */
+    @Enumerated(EnumType.STRING)
+    private ReservationStatus status = ReservationStatus.RESERVED;
+
+    /**
+     * Time after which an unconfirmed reservation is released.
+     */
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    /**
+     * Timestamp indicating when the reservation was created.
+     */
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -18,9 +18,11 @@ public class Order {
 
     /**
      * Unique identifier for the order.
+     * Ids are allocated in blocks from a pooled sequence so inserts can be JDBC-batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     /**
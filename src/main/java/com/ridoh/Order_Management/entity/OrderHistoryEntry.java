@@ -0,0 +1,83 @@
+package com.ridoh.Order_Management.entity;
+
+import com.ridoh.Order_Management.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing one line of a user's order history.
+ * <p>
+ * This is a denormalized read model of {@link OrderItem}: each row copies the order item together
+ * with the product details shown in the history, so a page of a user's history is read from one
+ * index range without joins. Rows share the id of their order item, are inserted when the order is
+ * placed and only their status changes afterwards.
+ * </p>
+ * This class maps to the "order_history" table in the database.
+ */
+@Data
+@Entity
+@Table(name = "order_history", indexes = {
+        @Index(name = "idx_order_history_user_id_id", columnList = "user_id, id")
+})
+public class OrderHistoryEntry {
+
+    /**
+     * The id of the order item this entry copies.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * The user who placed the order.
+     */
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * The order the item belongs to.
+     */
+    @Column(name = "order_id")
+    private Long orderId;
+
+    /**
+     * The ordered product.
+     */
+    @Column(name = "product_id")
+    private Long productId;
+
+    /**
+     * Name of the product when the order was placed.
+     */
+    @Column(name = "product_name")
+    private String productName;
+
+    /**
+     * Image URL of the product when the order was placed.
+     */
+    @Column(name = "product_image_url")
+    private String productImageUrl;
+
+    /**
+     * Quantity of the product ordered.
+     */
+    private int quantity;
+
+    /**
+     * Price of the order item.
+     */
+    private BigDecimal price;
+
+    /**
+     * Current status of the order item, stored like {@link OrderItem#getStatus()}.
+     */
+    private OrderStatus status;
+
+    /**
+     * The timestamp when the order item was created.
+     */
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -11,17 +11,26 @@ import java.time.LocalDateTime;
  * Represents an item in an order.
  * Each order item is linked to a specific product and user,
  * and it belongs to a particular order.
+ * <p>
+ * Filtered order item pages seek with {@code id < ?} in id order. With a status filter the
+ * {@code (status, id)} index serves the seek directly; without one the primary key does, and date
+ * ranges are checked on the rows it walks.
+ * </p>
  */
 @Data
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = {
+        @Index(name = "idx_order_items_status_id", columnList = "status, id")
+})
 public class OrderItem {
 
     /**
      * Unique identifier for the order item.
+     * Ids are allocated in blocks from a pooled sequence so inserts can be JDBC-batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -35,11 +35,35 @@ public class Product {
      */
     private String imageUrl;
 
+    /**
+     * URL of the small thumbnail derived from the product image, once it has been generated.
+     * Written only by {@code ProductRepo.updateImageVariants}, so saving a product edited elsewhere
+     * cannot overwrite a variant generated in the meantime.
+     */
+    @Column(updatable = false)
+    private String thumbnailUrl;
+
+    /**
+     * URL of the medium-size variant derived from the product image, once it has been generated.
+     * Written only by {@code ProductRepo.updateImageVariants}.
+     */
+    @Column(updatable = false)
+    private String mediumImageUrl;
+
     /**
      * The price of the product.
      */
     private BigDecimal price;
 
+    /**
+     * Number of units available for sale, or null if stock is not tracked for this product.
+     * Order placement decrements it with a conditional update, so it never drops below zero.
+     * Saving the entity never writes it: a product loaded before an order took stock would otherwise
+     * put the stale count back. Admins set it with {@code ProductRepo.updateStock}.
+     */
+    @Column(updatable = false)
+    private Integer stock;
+
     /**
      * The category to which this product belongs.
      * Establishes a many-to-one relationship with the Category entity.
@@ -54,4 +78,17 @@ public class Product {
      */
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    /**
+     * Timestamp of the last change to the product's catalog data.
+     * Stock updates made by placing or cancelling orders do not touch it; stock is not part of the
+     * catalog responses.
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
 }
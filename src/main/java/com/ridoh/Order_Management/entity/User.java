@@ -1,6 +1,7 @@
 package com.ridoh.Order_Management.entity;
 
 import com.ridoh.Order_Management.enums.UserRole;
+import com.ridoh.Order_Management.security.UserCacheEvictionListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -18,6 +19,7 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 @Entity
+@EntityListeners(UserCacheEvictionListener.class)
 @Table(name = "users")
 public class User {
 
@@ -0,0 +1,19 @@
+package com.ridoh.Order_Management.enums;
+
+/**
+ * Enum representing the delivery states of an email held in the outbox.
+ */
+public enum EmailStatus {
+
+    /** The email is waiting to be picked up by the dispatcher. */
+    PENDING,
+
+    /** The email has been claimed by a dispatcher and is being sent. */
+    SENDING,
+
+    /** The email was handed over to the mail server successfully. */
+    SENT,
+
+    /** The email could not be sent after the maximum number of attempts. */
+    FAILED
+}
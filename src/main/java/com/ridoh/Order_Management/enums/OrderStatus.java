@@ -1,7 +1,22 @@
 package com.ridoh.Order_Management.enums;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Enum representing the different statuses an order can have in the order management system.
+ * <p>
+ * Order items move through these statuses along a fixed transition table:
+ * </p>
+ * <pre>
+ *     PENDING   -&gt; CONFIRMED, CANCELLED
+ *     CONFIRMED -&gt; SHIPPED, CANCELLED
+ *     SHIPPED   -&gt; DELIVERED, RETURNING
+ *     DELIVERED -&gt; RETURNING
+ * </pre>
+ * CANCELLED and RETURNING are final. Constants are persisted by ordinal, so new ones must be appended.
  */
 public enum OrderStatus {
 
@@ -21,5 +36,26 @@ public enum OrderStatus {
     CANCELLED,
 
     /** The customer has initiated a return request. */
-    RETURNING
+    RETURNING;
+
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, CANCELLED));
+        TRANSITIONS.put(CONFIRMED, EnumSet.of(SHIPPED, CANCELLED));
+        TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED, RETURNING));
+        TRANSITIONS.put(DELIVERED, EnumSet.of(RETURNING));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(RETURNING, EnumSet.noneOf(OrderStatus.class));
+    }
+
+    /**
+     * Checks whether an order item in this status may be moved to the given status.
+     *
+     * @param target the requested status
+     * @return true if the transition table allows the change
+     */
+    public boolean canTransitionTo(OrderStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
 }
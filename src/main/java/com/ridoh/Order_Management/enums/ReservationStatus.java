@@ -0,0 +1,19 @@
+package com.ridoh.Order_Management.enums;
+
+/**
+ * Enum representing the lifecycle of a stock reservation held for an order item.
+ */
+public enum ReservationStatus {
+
+    /** Stock is held for a pending order item until the reservation expires. */
+    RESERVED,
+
+    /** The order item was confirmed; the stock is sold and the reservation no longer expires. */
+    COMMITTED,
+
+    /** The order item was cancelled and the stock was returned. */
+    RELEASED,
+
+    /** The reservation timed out before confirmation and the stock was returned. */
+    EXPIRED
+}
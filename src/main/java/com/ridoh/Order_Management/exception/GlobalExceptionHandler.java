@@ -61,4 +61,52 @@ public class GlobalExceptionHandler {
                 .build();
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
+
+    /**
+     * Handles orders that ask for more units than are in stock.
+     *
+     * @param ex      The OutOfStockException thrown when stock cannot be reserved.
+     * @param request The web request context.
+     * @return A ResponseEntity containing an error response with HTTP status 409 (Conflict).
+     */
+    @ExceptionHandler(OutOfStockException.class)
+    public ResponseEntity<Response> handleOutOfStockException(OutOfStockException ex, WebRequest request) {
+        Response errorResponse = Response.builder()
+                .status(HttpStatus.CONFLICT.value())
+                .message(ex.getMessage())
+                .build();
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles status changes that the order status transition table does not allow.
+     *
+     * @param ex      The InvalidStatusTransitionException thrown for the rejected change.
+     * @param request The web request context.
+     * @return A ResponseEntity containing an error response with HTTP status 409 (Conflict).
+     */
+    @ExceptionHandler(InvalidStatusTransitionException.class)
+    public ResponseEntity<Response> handleInvalidStatusTransitionException(InvalidStatusTransitionException ex, WebRequest request) {
+        Response errorResponse = Response.builder()
+                .status(HttpStatus.CONFLICT.value())
+                .message(ex.getMessage())
+                .build();
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles retries that arrive while the first request with the same idempotency key is still running.
+     *
+     * @param ex      The RequestInProgressException thrown for the retry.
+     * @param request The web request context.
+     * @return A ResponseEntity containing an error response with HTTP status 409 (Conflict).
+     */
+    @ExceptionHandler(RequestInProgressException.class)
+    public ResponseEntity<Response> handleRequestInProgressException(RequestInProgressException ex, WebRequest request) {
+        Response errorResponse = Response.builder()
+                .status(HttpStatus.CONFLICT.value())
+                .message(ex.getMessage())
+                .build();
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
 }
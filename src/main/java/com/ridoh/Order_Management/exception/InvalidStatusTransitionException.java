@@ -0,0 +1,17 @@
+package com.ridoh.Order_Management.exception;
+
+/**
+ * Exception thrown when an order item is asked to move to a status its current status cannot lead to.
+ * This is a custom runtime exception that extends {@link RuntimeException}.
+ */
+public class InvalidStatusTransitionException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidStatusTransitionException with the specified detail message.
+     *
+     * @param message The detail message explaining the reason for the exception.
+     */
+    public InvalidStatusTransitionException(String message) {
+        super(message);
+    }
+}
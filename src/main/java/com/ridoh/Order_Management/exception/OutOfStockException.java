@@ -0,0 +1,17 @@
+package com.ridoh.Order_Management.exception;
+
+/**
+ * Exception thrown when an order asks for more units of a product than are in stock.
+ * This is a custom runtime exception that extends {@link RuntimeException}.
+ */
+public class OutOfStockException extends RuntimeException {
+
+    /**
+     * Constructs a new OutOfStockException with the specified detail message.
+     *
+     * @param message The detail message explaining the reason for the exception.
+     */
+    public OutOfStockException(String message) {
+        super(message);
+    }
+}
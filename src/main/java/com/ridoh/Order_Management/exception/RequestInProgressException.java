@@ -0,0 +1,17 @@
+package com.ridoh.Order_Management.exception;
+
+/**
+ * Exception thrown when a request repeats an idempotency key whose first request has not finished in time.
+ * This is a custom runtime exception that extends {@link RuntimeException}.
+ */
+public class RequestInProgressException extends RuntimeException {
+
+    /**
+     * Constructs a new RequestInProgressException with the specified detail message.
+     *
+     * @param message The detail message explaining the reason for the exception.
+     */
+    public RequestInProgressException(String message) {
+        super(message);
+    }
+}
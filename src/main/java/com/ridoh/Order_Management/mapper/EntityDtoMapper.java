@@ -4,6 +4,7 @@ import com.ridoh.Order_Management.dto.*;
 import com.ridoh.Order_Management.entity.*;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -48,7 +49,8 @@ public class EntityDtoMapper {
 
     /**
      * Converts a {@link Category} entity to a {@link CategoryDto} containing basic category details.
-     * This includes the list of associated products.
+     * The product list is not touched, so mapping never triggers a lazy load of the category's products;
+     * products are fetched per category, page by page, when they are needed.
      *
      * @param category The {@link Category} entity to be converted.
      * @return A {@link CategoryDto} representation of the category.
@@ -57,15 +59,6 @@ public class EntityDtoMapper {
         CategoryDto categoryDto = new CategoryDto();
         categoryDto.setId(category.getId());
         categoryDto.setName(category.getName());
-
-        // Include the list of associated products
-        if (category.getProductList() != null) {
-            categoryDto.setProductList(category.getProductList()
-                    .stream()
-                    .map(this::mapProductToDtoBasic)
-                    .collect(Collectors.toList()));
-        }
-
         return categoryDto;
     }
 
@@ -98,6 +91,8 @@ public class EntityDtoMapper {
         productDto.setDescription(product.getDescription());
         productDto.setPrice(product.getPrice());
         productDto.setImageUrl(product.getImageUrl());
+        productDto.setThumbnailUrl(product.getThumbnailUrl());
+        productDto.setMediumImageUrl(product.getMediumImageUrl());
         return productDto;
     }
 
@@ -149,18 +144,44 @@ public class EntityDtoMapper {
     }
 
     /**
-     * Converts a {@link User} entity to a {@link UserDto}, including address and order history.
+     * Converts an {@link OrderHistoryEntry} to an {@link OrderItemDto} including the product details
+     * that were copied into the entry.
      *
-     * @param user The {@link User} entity to be converted.
+     * @param entry The {@link OrderHistoryEntry} to be converted.
+     * @return An {@link OrderItemDto} representation of the order item.
+     */
+    public OrderItemDto mapOrderHistoryEntryToDto(OrderHistoryEntry entry) {
+        OrderItemDto orderItemDto = new OrderItemDto();
+        orderItemDto.setId(entry.getId());
+        orderItemDto.setQuantity(entry.getQuantity());
+        orderItemDto.setPrice(entry.getPrice());
+        orderItemDto.setStatus(entry.getStatus().name());
+        orderItemDto.setCreatedAt(entry.getCreatedAt());
+
+        if (entry.getProductId() != null) {
+            ProductDto productDto = new ProductDto();
+            productDto.setId(entry.getProductId());
+            productDto.setName(entry.getProductName());
+            productDto.setImageUrl(entry.getProductImageUrl());
+            orderItemDto.setProduct(productDto);
+        }
+        return orderItemDto;
+    }
+
+    /**
+     * Converts a {@link User} entity to a {@link UserDto}, including address and a page of order history.
+     *
+     * @param user         The {@link User} entity to be converted.
+     * @param orderHistory The page of the user's order history to include.
      * @return A {@link UserDto} representation including address and order history.
      */
-    public UserDto mapUserToDtoPlusAddressAndOrderHistory(User user) {
+    public UserDto mapUserToDtoPlusAddressAndOrderHistory(User user, List<OrderHistoryEntry> orderHistory) {
         UserDto userDto = mapUserToDtoPlusAddress(user);
 
-        if (user.getOrderItemList() != null && !user.getOrderItemList().isEmpty()) {
-            userDto.setOrderItemList(user.getOrderItemList()
+        if (!orderHistory.isEmpty()) {
+            userDto.setOrderItemList(orderHistory
                     .stream()
-                    .map(this::mapOrderItemToDtoPlusProduct)
+                    .map(this::mapOrderHistoryEntryToDto)
                     .collect(Collectors.toList()));
         }
         return userDto;
@@ -0,0 +1,29 @@
+package com.ridoh.Order_Management.repository;
+
+import com.ridoh.Order_Management.entity.CatalogRevision;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for the shared catalog revision.
+ *
+ * @see JpaRepository
+ */
+public interface CatalogRevisionRepo extends JpaRepository<CatalogRevision, Long> {
+
+    /**
+     * Reads the catalog revision and locks its row until the transaction ends, so concurrent catalog
+     * writes advance it one after the other.
+     *
+     * @param id the ID of the revision row
+     * @return the revision, if the row exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM CatalogRevision r WHERE r.id = :id")
+    Optional<CatalogRevision> findByIdForUpdate(@Param("id") Long id);
+}
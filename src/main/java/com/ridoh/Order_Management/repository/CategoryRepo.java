@@ -1,7 +1,11 @@
 package com.ridoh.Order_Management.repository;
 
+import com.ridoh.Order_Management.dto.CategoryDto;
 import com.ridoh.Order_Management.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -26,4 +30,14 @@ import java.util.Optional;
  */
 public interface CategoryRepo extends JpaRepository<Category, Long> {
     Optional<Category> findByNameIgnoreCase(String name); // Added method
+
+    /**
+     * Lists every category with the number of products it holds, using one grouped query
+     * instead of loading each category's product collection.
+     *
+     * @return the category summaries ordered by id
+     */
+    @Query("select new com.ridoh.Order_Management.dto.CategoryDto(c.id, c.name, count(p.id)) " +
+            "from Category c left join c.productList p group by c.id, c.name order by c.id")
+    List<CategoryDto> findCategorySummaries();
 }
@@ -0,0 +1,58 @@
+package com.ridoh.Order_Management.repository;
+
+import com.ridoh.Order_Management.entity.EmailOutbox;
+import com.ridoh.Order_Management.enums.EmailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for managing EmailOutbox entities.
+ * <p>
+ * This interface extends JpaRepository, providing CRUD operations
+ * and the queries used by the outbox dispatcher to claim and recover emails.
+ * </p>
+ *
+ * Example usage:
+ * <pre>
+ *     List<EmailOutbox> due = emailOutboxRepo.findDueForDispatch(EmailStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, 50));
+ * </pre>
+ *
+ * @see JpaRepository
+ */
+public interface EmailOutboxRepo extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Finds and locks the oldest emails in the given state that are due for an attempt.
+     * Rows already locked by another dispatcher are skipped where the database supports it.
+     *
+     * @param status   the state of the emails to fetch
+     * @param now      the current time; only emails whose next attempt is due are returned
+     * @param pageable the maximum number of emails to return
+     * @return a list of due emails, oldest first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EmailOutbox e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.id ASC")
+    List<EmailOutbox> findDueForDispatch(@Param("status") EmailStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Returns emails stuck in the SENDING state (e.g. after a crash) back to PENDING.
+     *
+     * @param claimedBefore emails claimed before this time are considered abandoned
+     * @return the number of emails released
+     */
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.ridoh.Order_Management.enums.EmailStatus.PENDING " +
+            "WHERE e.status = com.ridoh.Order_Management.enums.EmailStatus.SENDING AND e.lastAttemptAt < :claimedBefore")
+    int releaseAbandoned(@Param("claimedBefore") LocalDateTime claimedBefore);
+}
@@ -0,0 +1,59 @@
+package com.ridoh.Order_Management.repository;
+
+import com.ridoh.Order_Management.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for the idempotency keys of placed orders.
+ *
+ * @see JpaRepository
+ */
+public interface IdempotencyKeyRepo extends JpaRepository<IdempotencyKey, String> {
+
+    /**
+     * Inserts a key. Unlike {@code save}, which would overwrite the row of a key placed concurrently
+     * by another instance, the insert fails with a unique constraint violation in that case.
+     *
+     * @param id          the scoped key, {@code userId:key}
+     * @param userId      the ID of the user
+     * @param orderId     the ID of the placed order
+     * @param requestHash the fingerprint of the order request
+     * @param createdAt   when the order was placed
+     * @param expiresAt   when the key expires
+     * @return the number of rows inserted
+     */
+    @Modifying
+    @Query("INSERT INTO IdempotencyKey (id, userId, orderId, requestHash, createdAt, expiresAt) " +
+            "VALUES (:id, :userId, :orderId, :requestHash, :createdAt, :expiresAt)")
+    int insert(@Param("id") String id, @Param("userId") Long userId, @Param("orderId") Long orderId,
+               @Param("requestHash") String requestHash, @Param("createdAt") LocalDateTime createdAt,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Deletes a key if it has expired, so it can be inserted again.
+     *
+     * @param id  the scoped key
+     * @param now the current time
+     * @return 1 if an expired key was deleted, otherwise 0
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.id = :id AND k.expiresAt < :now")
+    int deleteIfExpired(@Param("id") String id, @Param("now") LocalDateTime now);
+
+    /**
+     * Deletes every expired key.
+     *
+     * @param now the current time
+     * @return the number of keys deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
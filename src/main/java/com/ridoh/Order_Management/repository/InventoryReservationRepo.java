@@ -0,0 +1,84 @@
+package com.ridoh.Order_Management.repository;
+
+import com.ridoh.Order_Management.entity.InventoryReservation;
+import com.ridoh.Order_Management.enums.ReservationStatus;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for managing InventoryReservation entities.
+ * <p>
+ * State changes go through {@link #transition}, a conditional update that only succeeds for the
+ * caller that moves the reservation out of its current state, so stock is never returned twice.
+ * </p>
+ *
+ * @see JpaRepository
+ */
+public interface InventoryReservationRepo extends JpaRepository<InventoryReservation, Long> {
+
+    /**
+     * Finds the reservations held for an order item.
+     *
+     * @param orderItemId the ID of the order item
+     * @return the reservations of the order item
+     */
+    List<InventoryReservation> findByOrderItemId(Long orderItemId);
+
+    /**
+     * Reads the reservations of several order items that are in one of the given states and locks
+     * their rows until the transaction ends, in ID order so that concurrent releases cannot deadlock.
+     *
+     * @param orderItemIds the IDs of the order items
+     * @param statuses     the states of the reservations to fetch
+     * @return the matching reservations
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM InventoryReservation r WHERE r.orderItemId IN :orderItemIds AND r.status IN :statuses ORDER BY r.id ASC")
+    List<InventoryReservation> findByOrderItemsForUpdate(@Param("orderItemIds") Collection<Long> orderItemIds,
+                                                         @Param("statuses") Collection<ReservationStatus> statuses);
+
+    /**
+     * Finds reservations in the given state that expired before the given time, oldest first.
+     *
+     * @param status   the state of the reservations to fetch
+     * @param now      reservations expiring before this time are returned
+     * @param pageable the maximum number of reservations to return
+     * @return the expired reservations
+     */
+    @Query("SELECT r FROM InventoryReservation r WHERE r.status = :status AND r.expiresAt < :now ORDER BY r.expiresAt ASC")
+    List<InventoryReservation> findExpired(@Param("status") ReservationStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Moves a reservation to a new state if it is currently in one of the given states.
+     *
+     * @param id   the ID of the reservation
+     * @param from the states the reservation may currently be in
+     * @param to   the new state
+     * @return 1 if this call changed the reservation, 0 if it was already in another state
+     */
+    @Modifying
+    @Query("UPDATE InventoryReservation r SET r.status = :to WHERE r.id = :id AND r.status IN :from")
+    int transition(@Param("id") Long id, @Param("from") Collection<ReservationStatus> from, @Param("to") ReservationStatus to);
+
+    /**
+     * Moves the reservations of several order items to a new state if they are in one of the given states.
+     *
+     * @param orderItemIds the IDs of the order items
+     * @param from         the states the reservations may currently be in
+     * @param to           the new state
+     * @return the number of reservations changed
+     */
+    @Modifying
+    @Query("UPDATE InventoryReservation r SET r.status = :to WHERE r.orderItemId IN :orderItemIds AND r.status IN :from")
+    int transitionByOrderItems(@Param("orderItemIds") Collection<Long> orderItemIds, @Param("from") Collection<ReservationStatus> from,
+                               @Param("to") ReservationStatus to);
+}
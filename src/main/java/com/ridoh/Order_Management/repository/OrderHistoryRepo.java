@@ -0,0 +1,95 @@
+package com.ridoh.Order_Management.repository;
+
+import com.ridoh.Order_Management.entity.OrderHistoryEntry;
+import com.ridoh.Order_Management.enums.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the order history read model.
+ * <p>
+ * Entries are written with insert-select statements that copy order items and their products in the
+ * database, so neither placing an order nor the backfill loads the rows into memory.
+ * </p>
+ *
+ * @see JpaRepository
+ */
+public interface OrderHistoryRepo extends JpaRepository<OrderHistoryEntry, Long> {
+
+    /**
+     * Finds a page of a user's order history, newest first, starting after the given entry.
+     *
+     * @param userId   the ID of the user
+     * @param beforeId only entries with a lower ID are returned
+     * @param pageable the maximum number of entries to return
+     * @return the entries, ordered by ID descending
+     */
+    List<OrderHistoryEntry> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long beforeId, Pageable pageable);
+
+    /**
+     * Copies the items of a newly placed order into the history.
+     *
+     * @param orderId the ID of the order
+     * @return the number of entries inserted
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO OrderHistoryEntry (id, userId, orderId, productId, productName, productImageUrl, quantity, price, status, createdAt) " +
+            "SELECT i.id, i.user.id, i.order.id, p.id, p.name, p.imageUrl, i.quantity, i.price, i.status, i.createdAt " +
+            "FROM OrderItem i LEFT JOIN i.product p WHERE i.order.id = :orderId")
+    int insertForOrder(@Param("orderId") Long orderId);
+
+    /**
+     * Copies the order items in an id range that have no history entry yet.
+     *
+     * @param afterId copy items with an ID above this one
+     * @param upToId  copy items with an ID up to and including this one
+     * @return the number of entries inserted
+     */
+    @Modifying
+    @Query("INSERT INTO OrderHistoryEntry (id, userId, orderId, productId, productName, productImageUrl, quantity, price, status, createdAt) " +
+            "SELECT i.id, i.user.id, i.order.id, p.id, p.name, p.imageUrl, i.quantity, i.price, i.status, i.createdAt " +
+            "FROM OrderItem i LEFT JOIN i.product p WHERE i.id > :afterId AND i.id <= :upToId " +
+            "AND NOT EXISTS (SELECT 1 FROM OrderHistoryEntry h WHERE h.id = i.id)")
+    int insertMissing(@Param("afterId") Long afterId, @Param("upToId") Long upToId);
+
+    /**
+     * Copies the current status of the order items in an id range onto their history entries.
+     *
+     * @param afterId sync entries with an ID above this one
+     * @param upToId  sync entries with an ID up to and including this one
+     * @return the number of entries whose status was corrected
+     */
+    @Modifying
+    @Query("UPDATE OrderHistoryEntry h SET h.status = (SELECT i.status FROM OrderItem i WHERE i.id = h.id) " +
+            "WHERE h.id > :afterId AND h.id <= :upToId " +
+            "AND h.status <> (SELECT i.status FROM OrderItem i WHERE i.id = h.id)")
+    int syncStatus(@Param("afterId") Long afterId, @Param("upToId") Long upToId);
+
+    /**
+     * Updates the status of one entry.
+     *
+     * @param id     the ID of the order item
+     * @param status the new status
+     * @return 1 if the entry exists, otherwise 0
+     */
+    @Modifying
+    @Query("UPDATE OrderHistoryEntry h SET h.status = :status WHERE h.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") OrderStatus status);
+
+    /**
+     * Updates the status of several entries.
+     *
+     * @param ids    the IDs of the order items
+     * @param status the new status
+     * @return the number of entries updated
+     */
+    @Modifying
+    @Query("UPDATE OrderHistoryEntry h SET h.status = :status WHERE h.id IN :ids")
+    int updateStatuses(@Param("ids") Collection<Long> ids, @Param("status") OrderStatus status);
+}
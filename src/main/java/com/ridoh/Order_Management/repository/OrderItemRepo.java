@@ -1,8 +1,18 @@
 package com.ridoh.Order_Management.repository;
 
 import com.ridoh.Order_Management.entity.OrderItem;
+import com.ridoh.Order_Management.enums.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository interface for managing OrderItem entities.
@@ -14,7 +24,8 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
  *
  * <p>
  * Additionally, it implements JpaSpecificationExecutor, allowing the execution
- * of dynamic queries using the Specification API.
+ * of dynamic queries using the Specification API, and {@link OrderItemRepoCustom}
+ * for reading filtered order items as joined DTO projections.
  * </p>
  *
  * Example usage:
@@ -27,6 +38,73 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
  *
  * @see JpaRepository
  * @see JpaSpecificationExecutor
+ * @see OrderItemRepoCustom
  */
-public interface OrderItemRepo extends JpaRepository<OrderItem, Long>, JpaSpecificationExecutor<OrderItem> {
+public interface OrderItemRepo extends JpaRepository<OrderItem, Long>, JpaSpecificationExecutor<OrderItem>, OrderItemRepoCustom {
+
+    /**
+     * Changes the status of an order item only if it still has the expected status.
+     *
+     * @param id   the ID of the order item
+     * @param from the status the order item must currently have
+     * @param to   the new status
+     * @return 1 if the status was changed, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE OrderItem o SET o.status = :to WHERE o.id = :id AND o.status = :from")
+    int updateStatusIfCurrent(@Param("id") Long id, @Param("from") OrderStatus from, @Param("to") OrderStatus to);
+
+    /**
+     * Finds the IDs of the order items following the given one, in ascending order.
+     *
+     * @param afterId  only IDs above this one are returned
+     * @param pageable the maximum number of IDs to return
+     * @return the order item IDs
+     */
+    @Query("SELECT i.id FROM OrderItem i WHERE i.id > :afterId ORDER BY i.id ASC")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Reads the current status of the given order items and locks their rows until the transaction
+     * ends, in ID order so that concurrent bulk updates cannot deadlock.
+     *
+     * @param ids the IDs of the order items
+     * @return the ID, owner and status of every order item that exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i.id AS id, i.user.id AS userId, i.status AS status FROM OrderItem i WHERE i.id IN :ids ORDER BY i.id ASC")
+    List<StatusView> findStatusesForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves every given order item that is still in the expected status to a new status.
+     *
+     * @param ids  the IDs of the order items
+     * @param from the status the order items must currently have
+     * @param to   the new status
+     * @return the number of order items changed
+     */
+    @Modifying
+    @Query("UPDATE OrderItem o SET o.status = :to WHERE o.id IN :ids AND o.status = :from")
+    int updateStatuses(@Param("ids") Collection<Long> ids, @Param("from") OrderStatus from, @Param("to") OrderStatus to);
+
+    /**
+     * Finds the user who placed an order item.
+     *
+     * @param id the ID of the order item
+     * @return the ID of the user
+     */
+    @Query("SELECT i.user.id FROM OrderItem i WHERE i.id = :id")
+    Long findUserIdById(@Param("id") Long id);
+
+    /**
+     * The ID, owner and status of an order item.
+     */
+    interface StatusView {
+
+        Long getId();
+
+        Long getUserId();
+
+        OrderStatus getStatus();
+    }
 }
@@ -0,0 +1,44 @@
+package com.ridoh.Order_Management.repository;
+
+import com.ridoh.Order_Management.dto.OrderItemDto;
+import com.ridoh.Order_Management.entity.OrderItem;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom repository fragment for reading order items as DTO projections.
+ * <p>
+ * Order items are returned together with their product, user and address columns from a single
+ * joined query, so mapping a page never triggers lazy loads of those associations.
+ * </p>
+ *
+ * @see OrderItemRepo
+ */
+public interface OrderItemRepoCustom {
+
+    /**
+     * Finds order items matching the specification as fully populated DTOs.
+     *
+     * @param spec   the filter criteria, built with {@code OrderItemSpecification}
+     * @param sort   the sort order of the results
+     * @param offset the number of matching rows to skip
+     * @param limit  the maximum number of rows to return
+     * @return the matching order items including product, user and address details
+     */
+    List<OrderItemDto> findOrderItemDtos(Specification<OrderItem> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Streams order items matching the specification as DTOs, reading the result set forward-only
+     * in chunks of {@code fetchSize} rows. Must be called inside a transaction and the returned
+     * stream must be closed by the caller.
+     *
+     * @param spec      the filter criteria, built with {@code OrderItemSpecification}
+     * @param sort      the sort order of the results
+     * @param fetchSize the number of rows the JDBC driver fetches per round trip
+     * @return a lazily populated stream of order items
+     */
+    Stream<OrderItemDto> streamOrderItemDtos(Specification<OrderItem> spec, Sort sort, int fetchSize);
+}
@@ -0,0 +1,151 @@
+package com.ridoh.Order_Management.repository;
+
+import com.ridoh.Order_Management.dto.AddressDto;
+import com.ridoh.Order_Management.dto.OrderItemDto;
+import com.ridoh.Order_Management.dto.ProductDto;
+import com.ridoh.Order_Management.dto.UserDto;
+import com.ridoh.Order_Management.entity.Address;
+import com.ridoh.Order_Management.entity.OrderItem;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.entity.User;
+import com.ridoh.Order_Management.enums.OrderStatus;
+import com.ridoh.Order_Management.enums.UserRole;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Criteria-based implementation of {@link OrderItemRepoCustom}.
+ * <p>
+ * Builds one tuple query that left-joins product, user and user address, applies the same
+ * {@link Specification} predicates used by the entity queries, and maps each row straight to an
+ * {@link OrderItemDto}. No entities are loaded into the persistence context.
+ * </p>
+ */
+public class OrderItemRepoCustomImpl implements OrderItemRepoCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderItemDto> findOrderItemDtos(Specification<OrderItem> spec, Sort sort, long offset, int limit) {
+        TypedQuery<Tuple> query = createProjectionQuery(spec, sort);
+        query.setFirstResult((int) offset);
+        query.setMaxResults(limit);
+        return query.getResultList().stream().map(this::toDto).toList();
+    }
+
+    @Override
+    public Stream<OrderItemDto> streamOrderItemDtos(Specification<OrderItem> spec, Sort sort, int fetchSize) {
+        TypedQuery<Tuple> query = createProjectionQuery(spec, sort);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return query.getResultStream().map(this::toDto);
+    }
+
+    /**
+     * Builds the joined tuple query for the given criteria and sort order.
+     */
+    protected TypedQuery<Tuple> createProjectionQuery(Specification<OrderItem> spec, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<OrderItem> root = query.from(OrderItem.class);
+        Join<OrderItem, Product> product = root.join("product", JoinType.LEFT);
+        Join<OrderItem, User> user = root.join("user", JoinType.LEFT);
+        Join<User, Address> address = user.join("address", JoinType.LEFT);
+
+        query.multiselect(
+                root.get("id").alias("id"),
+                root.get("quantity").alias("quantity"),
+                root.get("price").alias("price"),
+                root.get("status").alias("status"),
+                root.get("createdAt").alias("createdAt"),
+                product.get("id").alias("productId"),
+                product.get("name").alias("productName"),
+                product.get("description").alias("productDescription"),
+                product.get("price").alias("productPrice"),
+                product.get("imageUrl").alias("productImageUrl"),
+                user.get("id").alias("userId"),
+                user.get("name").alias("userName"),
+                user.get("email").alias("userEmail"),
+                user.get("phoneNumber").alias("userPhoneNumber"),
+                user.get("role").alias("userRole"),
+                address.get("id").alias("addressId"),
+                address.get("street").alias("street"),
+                address.get("city").alias("city"),
+                address.get("state").alias("state"),
+                address.get("zipCode").alias("zipCode"),
+                address.get("country").alias("country"));
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort != null && sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    /**
+     * Maps one joined row to an order item DTO with nested product, user and address.
+     */
+    protected OrderItemDto toDto(Tuple row) {
+        OrderItemDto orderItemDto = new OrderItemDto();
+        orderItemDto.setId(row.get("id", Long.class));
+        orderItemDto.setQuantity(row.get("quantity", Integer.class));
+        orderItemDto.setPrice(row.get("price", BigDecimal.class));
+        orderItemDto.setStatus(row.get("status", OrderStatus.class).name());
+        orderItemDto.setCreatedAt(row.get("createdAt", LocalDateTime.class));
+
+        if (row.get("productId") != null) {
+            ProductDto productDto = new ProductDto();
+            productDto.setId(row.get("productId", Long.class));
+            productDto.setName(row.get("productName", String.class));
+            productDto.setDescription(row.get("productDescription", String.class));
+            productDto.setPrice(row.get("productPrice", BigDecimal.class));
+            productDto.setImageUrl(row.get("productImageUrl", String.class));
+            orderItemDto.setProduct(productDto);
+        }
+
+        if (row.get("userId") != null) {
+            UserDto userDto = new UserDto();
+            userDto.setId(row.get("userId", Long.class));
+            userDto.setName(row.get("userName", String.class));
+            userDto.setEmail(row.get("userEmail", String.class));
+            userDto.setPhoneNumber(row.get("userPhoneNumber", String.class));
+            userDto.setRole(row.get("userRole", UserRole.class).name());
+
+            if (row.get("addressId") != null) {
+                AddressDto addressDto = new AddressDto();
+                addressDto.setId(row.get("addressId", Long.class));
+                addressDto.setStreet(row.get("street", String.class));
+                addressDto.setCity(row.get("city", String.class));
+                addressDto.setState(row.get("state", String.class));
+                addressDto.setZipCode(row.get("zipCode", String.class));
+                addressDto.setCountry(row.get("country", String.class));
+                userDto.setAddress(addressDto);
+            }
+            orderItemDto.setUser(userDto);
+        }
+        return orderItemDto;
+    }
+}
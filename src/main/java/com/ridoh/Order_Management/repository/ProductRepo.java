@@ -1,7 +1,13 @@
 package com.ridoh.Order_Management.repository;
 
 import com.ridoh.Order_Management.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -30,12 +36,106 @@ public interface ProductRepo extends JpaRepository<Product, Long> {
      */
     List<Product> findByCategoryId(Long categoryId);
 
+    /**
+     * Finds one page of the products belonging to a specific category.
+     *
+     * @param categoryId the ID of the category
+     * @param pageable   the page to return
+     * @return the requested page of the category's products
+     */
+    Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
+
+    /**
+     * Returns the next batch of products after the given id, for keyset pagination in id order.
+     *
+     * @param lastId   the id of the last product of the previous batch, or 0 for the first batch
+     * @param pageable the batch size and sort; only the first page is meaningful
+     * @return the products with an id greater than {@code lastId}
+     */
+    List<Product> findByIdGreaterThan(Long lastId, Pageable pageable);
+
+    /**
+     * Returns the products with an id below the given one, for keyset pagination newest first.
+     *
+     * @param lastId   the id of the last product of the previous page
+     * @param pageable the page size and sort; only the first page is meaningful
+     * @return the products with an id less than {@code lastId}
+     */
+    List<Product> findByIdLessThan(Long lastId, Pageable pageable);
+
     /**
      * Searches for products whose name or description contains the specified keywords.
+     * <p>
+     * This is a double-wildcard {@code LIKE} scan; it only serves product search until the
+     * search index has been built.
+     * </p>
      *
      * @param name        the keyword to search in the product name
      * @param description the keyword to search in the product description
      * @return a list of matching products
      */
     List<Product> findByNameContainingOrDescriptionContaining(String name, String description);
+
+    /**
+     * Takes stock from a product if enough units are available. The check and the decrement are
+     * one atomic statement, so concurrent orders cannot oversell and no row lock outlives the call.
+     *
+     * @param productId the ID of the product
+     * @param quantity  the number of units to take
+     * @return 1 if the stock was taken, 0 if the product has too little stock or is not tracked
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity WHERE p.id = :productId AND p.stock >= :quantity")
+    int decrementStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    /**
+     * Returns stock to a product whose stock is tracked.
+     *
+     * @param productId the ID of the product
+     * @param quantity  the number of units to return
+     * @return 1 if the stock was returned, 0 if the product no longer exists or is not tracked
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + :quantity WHERE p.id = :productId AND p.stock IS NOT NULL")
+    int incrementStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    /**
+     * Sets the stock of a product to an absolute number of units, e.g. after a stock count.
+     *
+     * @param productId the ID of the product
+     * @param stock     the new number of units available for sale
+     * @return 1 if the stock was set, 0 if the product no longer exists
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = :stock WHERE p.id = :productId")
+    int updateStock(@Param("productId") Long productId, @Param("stock") int stock);
+
+    /**
+     * Records the URLs of a product image's generated variants, unless the product's image was
+     * replaced while they were being generated.
+     *
+     * @param productId      the ID of the product
+     * @param imageUrl       the URL of the original image the variants were generated from
+     * @param thumbnailUrl   the URL of the thumbnail
+     * @param mediumImageUrl the URL of the medium-size variant
+     * @return 1 if the product was updated, 0 if it was deleted or its image changed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Product p SET p.thumbnailUrl = :thumbnailUrl, p.mediumImageUrl = :mediumImageUrl, p.updatedAt = LOCAL DATETIME " +
+            "WHERE p.id = :productId AND p.imageUrl = :imageUrl")
+    int updateImageVariants(@Param("productId") Long productId, @Param("imageUrl") String imageUrl,
+                            @Param("thumbnailUrl") String thumbnailUrl, @Param("mediumImageUrl") String mediumImageUrl);
+
+    /**
+     * Reads the current stock of a product.
+     *
+     * @param productId the ID of the product
+     * @return the stock, or null if the product does not track stock or does not exist
+     */
+    @Query("SELECT p.stock FROM Product p WHERE p.id = :productId")
+    Integer findStockById(@Param("productId") Long productId);
 }
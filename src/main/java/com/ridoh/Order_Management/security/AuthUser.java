@@ -1,6 +1,7 @@
 package com.ridoh.Order_Management.security;
 
 import com.ridoh.Order_Management.entity.User;
+import com.ridoh.Order_Management.enums.UserRole;
 import lombok.Builder;
 import lombok.Data;
 import org.springframework.security.core.GrantedAuthority;
@@ -13,13 +14,14 @@ import java.util.List;
 /**
  * Custom implementation of Spring Security's {@link UserDetails} interface.
  * <p>
- * This class wraps the {@link User} entity and provides authentication and authorization details
- * required by Spring Security.
+ * This class holds an immutable snapshot of the {@link User} fields needed for authentication and
+ * authorization. It is cached between requests and stored in the security context, so services can
+ * read the current user's id and role without querying the database again.
  * </p>
  *
  * <p>Example usage:</p>
  * <pre>
- *     AuthUser authUser = AuthUser.builder().user(user).build();
+ *     AuthUser authUser = AuthUser.fromUser(user);
  *     Collection<? extends GrantedAuthority> authorities = authUser.getAuthorities();
  * </pre>
  *
@@ -31,9 +33,45 @@ import java.util.List;
 public class AuthUser implements UserDetails {
 
     /**
-     * The authenticated user entity.
+     * The unique identifier of the authenticated user.
      */
-    private User user;
+    private final Long id;
+
+    /**
+     * The display name of the authenticated user.
+     */
+    private final String name;
+
+    /**
+     * The email of the authenticated user, used as the username.
+     */
+    private final String email;
+
+    /**
+     * The hashed password of the authenticated user.
+     */
+    private final String password;
+
+    /**
+     * The role of the authenticated user.
+     */
+    private final UserRole role;
+
+    /**
+     * Creates a snapshot of the given user entity.
+     *
+     * @param user the user entity
+     * @return an {@link AuthUser} holding the user's authentication details
+     */
+    public static AuthUser fromUser(User user) {
+        return AuthUser.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .role(user.getRole())
+                .build();
+    }
 
     /**
      * Returns the list of granted authorities (roles) for the user.
@@ -42,7 +80,7 @@ public class AuthUser implements UserDetails {
      */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority(user.getRole().name()));
+        return List.of(new SimpleGrantedAuthority(role.name()));
     }
 
     /**
@@ -52,7 +90,7 @@ public class AuthUser implements UserDetails {
      */
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     /**
@@ -62,7 +100,7 @@ public class AuthUser implements UserDetails {
      */
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     /**
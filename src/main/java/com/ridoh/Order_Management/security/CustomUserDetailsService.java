@@ -14,6 +14,8 @@ import org.springframework.stereotype.Service;
  * <p>
  * This service is responsible for retrieving user information by their email
  * and returning an instance of {@link AuthUser}, which implements {@link UserDetails}.
+ * Principals are served from the {@link UserPrincipalCache}, so the database is only
+ * queried on a cache miss.
  * </p>
  *
  * <p>Usage:</p>
@@ -30,9 +32,10 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepo userRepo;
+    private final UserPrincipalCache userPrincipalCache;
 
     /**
-     * Loads a user from the database by their email.
+     * Loads a user by their email, from the principal cache or the database.
      *
      * @param username the email of the user to be retrieved
      * @return an instance of {@link AuthUser} containing user details
@@ -40,11 +43,10 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepo.findByEmail(username)
-                .orElseThrow(() -> new NotFoundException("User/ Email not found"));
-
-        return AuthUser.builder()
-                .user(user)
-                .build();
+        return userPrincipalCache.get(username, email -> {
+            User user = userRepo.findByEmail(email)
+                    .orElseThrow(() -> new NotFoundException("User/ Email not found"));
+            return AuthUser.fromUser(user);
+        });
     }
 }
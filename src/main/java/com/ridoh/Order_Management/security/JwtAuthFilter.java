@@ -26,8 +26,8 @@ import java.io.IOException;
  * <p>Usage:</p>
  * <pre>
  * - Extracts JWT token from the request header
- * - Validates the token using {@link JwtUtils}
- * - Loads user details from the database via {@link CustomUserDetailsService}
+ * - Verifies the token once using {@link JwtUtils#verifyToken(String)}
+ * - Loads user details via {@link CustomUserDetailsService}, which serves them from the principal cache
  * - Sets authentication in {@link SecurityContextHolder} if the token is valid
  * </pre>
  *
@@ -60,11 +60,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String token = getTokenFromRequest(request);
 
         if (token != null) {
-            String username = jwtUtils.getUsernameFromToken(token);
+            // Signature and expiry are checked once; the claims are reused below
+            VerifiedClaims claims = jwtUtils.verifyToken(token);
 
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
-            if (StringUtils.hasText(username) && jwtUtils.isTokenValid(token, userDetails)) {
-                log.info("VALID JWT FOR {}", username);
+            if (claims != null && StringUtils.hasText(claims.getSubject())) {
+                String username = claims.getSubject();
+                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+                log.debug("VALID JWT FOR {}", username);
 
                 // Create an authentication token and set it in the security context
                 UsernamePasswordAuthenticationToken authenticationToken =
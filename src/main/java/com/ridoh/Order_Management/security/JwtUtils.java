@@ -1,8 +1,15 @@
 package com.ridoh.Order_Management.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.ridoh.Order_Management.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,17 +19,27 @@ import org.springframework.stereotype.Service;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.HexFormat;
 
 /**
  * Utility class for generating and validating JWT tokens.
  * <p>
  * This class provides methods to:
  * - Generate JWT tokens
- * - Extract claims from tokens
+ * - Verify a token once and return its {@link VerifiedClaims}
  * - Validate tokens
  * </p>
+ * <p>
+ * Recently verified tokens are kept in a bounded cache keyed by the SHA-256 hash of the token,
+ * and each entry expires with the token's own {@code exp} claim. Repeat requests with the same
+ * token skip parsing and HMAC verification. Set {@code jwt.verified-cache.maximum-size} to 0 to
+ * disable the cache.
+ * </p>
  *
  * @author Ridoh
  */
@@ -33,19 +50,47 @@ public class JwtUtils {
     // Token expiration time (3 months)
     private static final long EXPIRATION_TIME_IN_MILLIS = 1000L * 60L * 60L * 24L * 30L * 3L;
 
+    private final MeterRegistry meterRegistry;
+
     private SecretKey key;
 
+    private JwtParser jwtParser;
+
+    private Cache<String, VerifiedClaims> verifiedTokenCache;
+
     @Value("${secreteJwtString}")
     private String secreteJwtString;
 
+    @Value("${jwt.verified-cache.maximum-size:10000}")
+    private long verifiedCacheMaximumSize;
+
     /**
-     * Initializes the secret key for signing JWT tokens.
+     * Constructs a JwtUtils instance.
+     *
+     * @param meterRegistry the registry the verified-token cache metrics are published to
+     */
+    public JwtUtils(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Initializes the secret key, the reusable parser and the verified-token cache.
      * This method runs after dependency injection.
      */
     @PostConstruct
     private void init() {
         byte[] keyBytes = secreteJwtString.getBytes(StandardCharsets.UTF_8);
         this.key = new SecretKeySpec(keyBytes, "HmacSHA256");
+        this.jwtParser = Jwts.parser().verifyWith(key).build();
+
+        if (verifiedCacheMaximumSize > 0) {
+            this.verifiedTokenCache = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheMaximumSize)
+                    .expireAfter(new TokenExpiry())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokenCache, "auth.jwt");
+        }
     }
 
     /**
@@ -74,30 +119,38 @@ public class JwtUtils {
     }
 
     /**
-     * Extracts the username from a given JWT token.
+     * Verifies the signature and expiry of a token in a single pass.
      *
      * @param token the JWT token
-     * @return the username (subject) stored in the token
+     * @return the verified claims, or null if the token is malformed, forged or expired
      */
-    public String getUsernameFromToken(String token) {
-        return extractClaims(token, Claims::getSubject);
+    public VerifiedClaims verifyToken(String token) {
+        if (verifiedTokenCache == null) {
+            return parseAndVerify(token);
+        }
+
+        String tokenHash = hash(token);
+        VerifiedClaims cached = verifiedTokenCache.getIfPresent(tokenHash);
+        if (cached != null) {
+            return cached.isExpiredAt(Instant.now()) ? null : cached;
+        }
+
+        VerifiedClaims claims = parseAndVerify(token);
+        if (claims != null && claims.getExpiresAt() != null) {
+            verifiedTokenCache.put(tokenHash, claims);
+        }
+        return claims;
     }
 
     /**
-     * Extracts specific claims from a JWT token.
+     * Extracts the username from a given JWT token.
      *
-     * @param token          the JWT token
-     * @param claimsResolver the function to extract specific claims
-     * @param <T>            the type of the claim
-     * @return the extracted claim value
+     * @param token the JWT token
+     * @return the username (subject) stored in the token, or null if the token is invalid
      */
-    private <T> T extractClaims(String token, Function<Claims, T> claimsResolver) {
-        try {
-            return claimsResolver.apply(Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload());
-        } catch (Exception e) {
-            log.error("Invalid JWT Token: {}", e.getMessage());
-            return null;
-        }
+    public String getUsernameFromToken(String token) {
+        VerifiedClaims claims = verifyToken(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
     /**
@@ -108,18 +161,59 @@ public class JwtUtils {
      * @return true if the token is valid, false otherwise
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username != null && username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        VerifiedClaims claims = verifyToken(token);
+        return claims != null && claims.getSubject() != null && claims.getSubject().equals(userDetails.getUsername());
     }
 
     /**
-     * Checks if a JWT token has expired.
+     * Parses the token and verifies its HMAC signature and expiry.
      *
      * @param token the JWT token
-     * @return true if the token has expired, false otherwise
+     * @return the verified claims, or null if verification fails
+     */
+    private VerifiedClaims parseAndVerify(String token) {
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            return new VerifiedClaims(
+                    claims.getSubject(),
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("Invalid JWT Token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Expires each cached token at its own {@code exp} claim.
      */
-    private boolean isTokenExpired(String token) {
-        Date expirationDate = extractClaims(token, Claims::getExpiration);
-        return expirationDate != null && expirationDate.before(new Date());
+    private static final class TokenExpiry implements Expiry<String, VerifiedClaims> {
+
+        @Override
+        public long expireAfterCreate(String tokenHash, VerifiedClaims claims, long currentTime) {
+            return Math.max(0L, Duration.between(Instant.now(), claims.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenHash, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String tokenHash, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Hashes the token so raw bearer tokens are not retained as cache keys.
+     */
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
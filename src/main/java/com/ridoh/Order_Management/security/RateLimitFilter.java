@@ -0,0 +1,221 @@
+package com.ridoh.Order_Management.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ridoh.Order_Management.dto.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits requests per client with a {@link TokenBucket} for every client and route.
+ * <p>
+ * Runs in the security filter chain right after {@link JwtAuthFilter}: authenticated requests are
+ * limited per user id, anonymous ones per client IP. Every {@link Route} has its own rate and burst,
+ * configured by {@code rate-limit.<route>.requests-per-second} and {@code rate-limit.<route>.burst},
+ * for example {@code rate-limit.search.requests-per-second=5}. Requests over the limit are answered
+ * with 429 and a {@code Retry-After} header and counted in {@code http.server.rate-limited}.
+ * </p>
+ * <p>
+ * Buckets live in a bounded Caffeine cache per route, at most {@code rate-limit.max-clients} of
+ * them, and are evicted after {@code rate-limit.idle-seconds} without a request; an evicted bucket
+ * was full again anyway. Behind a proxy, set {@code server.forward-headers-strategy} so the client IP
+ * is taken from the forwarded headers.
+ * </p>
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String ALREADY_FILTERED_ATTRIBUTE = RateLimitFilter.class.getName() + ALREADY_FILTERED_SUFFIX;
+
+    private final Map<Route, Limit> limits = new EnumMap<>(Route.class);
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    /**
+     * Creates the filter with the configured limit of every route.
+     *
+     * @param environment   the environment holding the route settings
+     * @param meterRegistry the registry the rejections are published to
+     * @param objectMapper  writes the rejection body
+     * @param enabled       whether requests are limited at all
+     * @param maxClients    the number of buckets kept per route
+     * @param idleSeconds   how long an unused bucket is kept
+     */
+    public RateLimitFilter(Environment environment, MeterRegistry meterRegistry, ObjectMapper objectMapper,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.max-clients:100000}") long maxClients,
+                           @Value("${rate-limit.idle-seconds:600}") long idleSeconds) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        for (Route route : Route.values()) {
+            String prefix = "rate-limit." + route.key + ".";
+            double perSecond = environment.getProperty(prefix + "requests-per-second", Double.class, route.requestsPerSecond);
+            int burst = environment.getProperty(prefix + "burst", Integer.class, route.burst);
+            long nanosPerToken = nanosPerToken(prefix, perSecond, burst);
+            limits.put(route, new Limit(nanosPerToken, burst,
+                    Caffeine.newBuilder()
+                            // amortized cache maintenance is cheaper inline than waking a pool thread per batch
+                            .executor(Runnable::run)
+                            .maximumSize(maxClients)
+                            .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                            .build(),
+                    Counter.builder("http.server.rate-limited")
+                            .description("Requests rejected for exceeding the client's rate limit")
+                            .tag("route", route.key)
+                            .register(meterRegistry)));
+        }
+    }
+
+    /**
+     * Converts a configured rate into the refill interval of one token, rejecting rates and bursts
+     * that would make the buckets never refill, never admit a request or overflow.
+     */
+    private static long nanosPerToken(String prefix, double perSecond, int burst) {
+        if (!(perSecond > 0) || perSecond > TimeUnit.SECONDS.toNanos(1)) {
+            throw new IllegalArgumentException(prefix + "requests-per-second must be greater than 0 and at most 1e9, was " + perSecond);
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException(prefix + "burst must be at least 1, was " + burst);
+        }
+        long nanosPerToken = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+        if (nanosPerToken > Long.MAX_VALUE / 4 / burst) {
+            // the buckets add the burst window to nanoTime values, which must not overflow
+            throw new IllegalArgumentException(prefix + "requests-per-second of " + perSecond + " with a burst of " + burst
+                    + " refills too slowly");
+        }
+        return nanosPerToken;
+    }
+
+    // the default name is concatenated on every request
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        return ALREADY_FILTERED_ATTRIBUTE;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Route route = enabled ? Route.of(request) : null;
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = tryTake(route, clientKey(request), System.nanoTime());
+        if (waitNanos > 0) {
+            reject(route, response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Takes a token from a client's bucket for a route.
+     *
+     * @param route  the route of the request
+     * @param client the user id or IP the request is counted against
+     * @param now    the current {@link System#nanoTime()}
+     * @return {@code 0} if the request may proceed, otherwise the nanoseconds until it may be retried
+     */
+    long tryTake(Route route, Object client, long now) {
+        Limit limit = limits.get(route);
+        TokenBucket bucket = limit.buckets().getIfPresent(client);
+        if (bucket == null) {
+            bucket = limit.buckets().get(client, key -> new TokenBucket(limit.nanosPerToken(), limit.burst(), now));
+        }
+        return bucket.tryTake(now);
+    }
+
+    // user ids (Long) and IPs (String) never collide as keys, so neither needs a prefix
+    private static Object clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthUser authUser) {
+            return authUser.getId();
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(Route route, HttpServletResponse response, long waitNanos) throws IOException {
+        limits.get(route).rejected().increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Response.builder()
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .message("Too many requests, please retry later")
+                .build());
+    }
+
+    private record Limit(long nanosPerToken, int burst, Cache<Object, TokenBucket> buckets, Counter rejected) {
+    }
+
+    /**
+     * Route groups with separate rate limits, most specific first.
+     */
+    public enum Route {
+
+        /** Login and registration, limited tightly against credential stuffing. */
+        AUTH("auth", 1, 10),
+
+        /** Full-text product search, the most expensive public read. */
+        SEARCH("search", 5, 20),
+
+        /** Other product and category requests. */
+        CATALOG("catalog", 20, 100),
+
+        /** Order placement, status changes and reports. */
+        ORDER("order", 10, 30);
+
+        private final String key;
+        private final double requestsPerSecond;
+        private final int burst;
+
+        Route(String key, double requestsPerSecond, int burst) {
+            this.key = key;
+            this.requestsPerSecond = requestsPerSecond;
+            this.burst = burst;
+        }
+
+        /**
+         * @param request the incoming request
+         * @return the route the request is limited by, or {@code null} if it is not limited
+         */
+        static Route of(HttpServletRequest request) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            if (path.startsWith("/auth/")) {
+                return AUTH;
+            }
+            if (path.equals("/product/search") && HttpMethod.GET.matches(request.getMethod())) {
+                return SEARCH;
+            }
+            if (path.startsWith("/product/") || path.startsWith("/category/")) {
+                return CATALOG;
+            }
+            if (path.startsWith("/order/")) {
+                return ORDER;
+            }
+            return null;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.ridoh.Order_Management.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -32,6 +34,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     /**
      * Defines security configurations, such as:
@@ -40,6 +43,7 @@ public class SecurityConfig {
      * - Requiring authentication for other endpoints
      * - Enforcing stateless session management
      * - Adding JWT authentication filter
+     * - Adding the rate limit filter after it, so authenticated users are limited by user id
      *
      * @param httpSecurity the HTTP security configuration
      * @return the security filter chain
@@ -51,15 +55,35 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(Customizer.withDefaults())
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Already authorized when the stream was opened
                         .requestMatchers("/auth/register", "/auth/login").permitAll() // Allow public access to auth routes
+                        .requestMatchers("/order/events").authenticated() // Status events are per user
                         .requestMatchers("/category/**", "/product/**", "/order/**").permitAll() // Public APIs
+                        .requestMatchers("/files/**").permitAll() // Images served by the local storage backend
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll() // Probes and metric scrapes carry no token
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                         .anyRequest().authenticated()) // All other requests require authentication
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthFilter.class);
 
         return httpSecurity.build();
     }
 
+    /**
+     * Keeps the servlet container from running the rate limit filter outside the security filter
+     * chain, where the user is not yet known.
+     *
+     * @param rateLimitFilter the rate limit filter
+     * @return a disabled registration for the filter
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     /**
      * Defines the password encoder for hashing passwords.
      *
@@ -0,0 +1,53 @@
+package com.ridoh.Order_Management.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket.
+ * <p>
+ * Instead of a token count and a refill timestamp the bucket keeps a single value: the time at which
+ * it will be full again (the generic cell rate algorithm). Taking a token moves that time forward by
+ * one token's worth; the request is allowed if the bucket would still hold at least zero tokens, that
+ * is if the time lies no more than {@code burst} tokens ahead of now. Refilling is implicit in the
+ * passing of time, so a request is one compare-and-set without locks or a refill thread.
+ * </p>
+ */
+public class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param nanosPerToken how long the bucket takes to refill one token
+     * @param burst         the number of tokens the bucket holds
+     * @param now           the current {@link System#nanoTime()}
+     */
+    public TokenBucket(long nanosPerToken, int burst, long now) {
+        this.nanosPerToken = nanosPerToken;
+        this.burstNanos = nanosPerToken * burst;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return {@code 0} if a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryTake(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ridoh.Order_Management.security;
+
+import com.ridoh.Order_Management.entity.User;
+import com.ridoh.Order_Management.util.AfterCommit;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that keeps the {@link UserPrincipalCache} consistent with the users table.
+ * <p>
+ * Any update or deletion of a {@link User} evicts that user's cached principal once the transaction
+ * commits, so changes to the role, password or email take effect on the next request. Evicting at
+ * flush time would let a request arriving before the commit re-cache the old row.
+ * </p>
+ *
+ * @author Ridoh
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictionListener {
+
+    private final UserPrincipalCache userPrincipalCache;
+
+    /**
+     * Evicts the cached principal after the transaction that updated or deleted a user row commits.
+     *
+     * @param user the changed user
+     */
+    @PostUpdate
+    @PostRemove
+    public void evictCachedPrincipal(User user) {
+        String email = user.getEmail();
+        Long userId = user.getId();
+        AfterCommit.run(() -> {
+            userPrincipalCache.evict(email);
+            userPrincipalCache.evictUser(userId);
+        });
+    }
+}
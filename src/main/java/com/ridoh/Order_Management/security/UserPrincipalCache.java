@@ -0,0 +1,79 @@
+package com.ridoh.Order_Management.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ridoh.Order_Management.util.CacheLoads;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-expiring cache of authenticated principals keyed by email.
+ * <p>
+ * The JWT filter resolves the user on every authenticated request. This cache lets repeat requests
+ * from the same user skip the {@code findByEmail} query. Entries expire after
+ * {@code auth.principal-cache.ttl-seconds} and are evicted as soon as the user entity changes
+ * (see {@link UserCacheEvictionListener}). Hit and miss counts are published to Micrometer as the
+ * {@code cache.*} meters tagged {@code cache=auth.principal}.
+ * </p>
+ *
+ * @author Ridoh
+ * @see CustomUserDetailsService
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final AsyncCache<String, AuthUser> cache;
+
+    /**
+     * Creates the principal cache and registers its statistics with the meter registry.
+     *
+     * @param meterRegistry the registry the cache metrics are published to
+     * @param maximumSize   the maximum number of cached principals
+     * @param ttlSeconds    how long a principal may be served from the cache
+     */
+    public UserPrincipalCache(MeterRegistry meterRegistry,
+                              @Value("${auth.principal-cache.maximum-size:10000}") long maximumSize,
+                              @Value("${auth.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.principal");
+    }
+
+    /**
+     * Returns the cached principal for the given email, loading it on the calling thread on a miss.
+     *
+     * @param email  the user's email
+     * @param loader function that loads the principal from the database
+     * @return the principal for the email
+     */
+    public AuthUser get(String email, Function<String, AuthUser> loader) {
+        return CacheLoads.get(cache, email, loader);
+    }
+
+    /**
+     * Removes every cached principal that belongs to the given user.
+     * Matching by id also drops entries cached under a previous email address.
+     *
+     * @param userId the id of the user that changed
+     */
+    public void evictUser(Long userId) {
+        cache.synchronous().asMap().values().removeIf(authUser -> authUser.getId().equals(userId));
+    }
+
+    /**
+     * Removes the cached principal for the given email.
+     *
+     * @param email the user's email
+     */
+    public void evict(String email) {
+        cache.synchronous().invalidate(email);
+    }
+}
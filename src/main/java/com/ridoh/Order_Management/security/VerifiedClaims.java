@@ -0,0 +1,48 @@
+package com.ridoh.Order_Management.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Immutable result of a successful JWT signature and expiry check.
+ * <p>
+ * Produced once per token by {@link JwtUtils#verifyToken(String)}, so callers can read the subject
+ * and expiry without parsing or verifying the token again.
+ * </p>
+ *
+ * @author Ridoh
+ * @see JwtUtils
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public final class VerifiedClaims {
+
+    /**
+     * The token subject, which is the user's email.
+     */
+    private final String subject;
+
+    /**
+     * The instant at which the token was issued.
+     */
+    private final Instant issuedAt;
+
+    /**
+     * The instant at which the token expires.
+     */
+    private final Instant expiresAt;
+
+    /**
+     * Checks whether the token has expired at the given instant.
+     *
+     * @param now the instant to check against
+     * @return true if the token is expired, false otherwise
+     */
+    public boolean isExpiredAt(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -1,70 +1,92 @@
 package com.ridoh.Order_Management.service;
 
-import com.amazonaws.auth.AWSStaticCredentialsProvider;
-import com.amazonaws.auth.BasicAWSCredentials;
-import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.ridoh.Order_Management.service.Interface.StorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.util.StringUtils;
+
 import java.io.InputStream;
 
 /**
- * Service class for handling file uploads to Amazon S3.
+ * Service class for storing files in Amazon S3 or an S3-compatible store.
+ * <p>
+ * Uploads stream from the source with their content length set, so the SDK never buffers an
+ * object in memory. Objects at or above {@code aws.s3.multipart-threshold-mb} are uploaded in
+ * parallel parts through the {@link TransferManager}.
+ * </p>
  */
+@Slf4j
 @Service
-public class AwsS3Service {
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class AwsS3Service implements StorageService {
+
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final AmazonS3 amazonS3;
+    private final TransferManager transferManager;
 
     // Amazon S3 bucket name
-    private final String bucketName = "ridoh-ecommerce";
+    @Value("${aws.s3.bucket:ridoh-ecommerce}")
+    private String bucketName;
 
-    @Value("${aws.s3.access.key}")
-    private String awsS3AccessKey;
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint;
 
-    @Value("${aws.s3.secret.key}")
-    private String awsS3SecretKey;
+    @Value("${aws.s3.multipart-threshold-mb:16}")
+    private long multipartThresholdMb;
+
+    @Override
+    public boolean exists(String key) {
+        return amazonS3.doesObjectExist(bucketName, key);
+    }
 
     /**
-     * Uploads an image file to an Amazon S3 bucket and returns the URL of the uploaded image.
+     * Uploads an object to the S3 bucket.
      *
-     * @param photo the image file to be uploaded
-     * @return the URL of the uploaded image in the S3 bucket
      * @throws RuntimeException if an error occurs during the upload process
      */
-    public String saveImageToS3(MultipartFile photo) {
-        try {
-            // Get the original filename
-            String s3Filename = photo.getOriginalFilename();
-
-            // Create AWS credentials using access and secret key
-            BasicAWSCredentials awsCredentials = new BasicAWSCredentials(awsS3AccessKey, awsS3SecretKey);
-
-            // Create an S3 client with the configured credentials and region
-            AmazonS3 s3Client = AmazonS3ClientBuilder.standard()
-                    .withCredentials(new AWSStaticCredentialsProvider(awsCredentials))
-                    .withRegion(Regions.EU_NORTH_1)
-                    .build();
-
-            // Get input stream from the uploaded file
-            InputStream inputStream = photo.getInputStream();
-
-            // Set metadata for the object
-            ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentType("image/jpeg");
-
-            // Create a PutObjectRequest to upload the image to S3
-            PutObjectRequest putObjectRequest = new PutObjectRequest(bucketName, s3Filename, inputStream, metadata);
-            s3Client.putObject(putObjectRequest);
-
-            // Return the S3 URL of the uploaded image
-            return "https://" + bucketName + ".s3.amazonaws.com/" + s3Filename;
+    @Override
+    public void store(String key, InputStream content, long contentLength, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        metadata.setContentLength(contentLength);
+        // keys are content hashes, so an object never changes once written
+        metadata.setCacheControl(IMMUTABLE_CACHE_CONTROL);
 
+        PutObjectRequest putObjectRequest = new PutObjectRequest(bucketName, key, content, metadata);
+        try {
+            if (contentLength >= multipartThresholdMb * 1024 * 1024) {
+                transferManager.upload(putObjectRequest).waitForUploadResult();
+            } else {
+                amazonS3.putObject(putObjectRequest);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while uploading " + key + " to S3 bucket");
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Unable to upload {} to S3 bucket {}", key, bucketName, e);
             throw new RuntimeException("Unable to upload image to S3 bucket: " + e.getMessage());
         }
     }
+
+    @Override
+    public InputStream open(String key) {
+        return amazonS3.getObject(bucketName, key).getObjectContent();
+    }
+
+    @Override
+    public String urlFor(String key) {
+        if (StringUtils.hasText(endpoint)) {
+            return endpoint + "/" + bucketName + "/" + key;
+        }
+        return "https://" + bucketName + ".s3.amazonaws.com/" + key;
+    }
 }
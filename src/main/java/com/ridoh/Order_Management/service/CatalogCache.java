@@ -0,0 +1,366 @@
+package com.ridoh.Order_Management.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ridoh.Order_Management.dto.CategoryDto;
+import com.ridoh.Order_Management.dto.ProductDto;
+import com.ridoh.Order_Management.service.CatalogRevisions.Revision;
+import com.ridoh.Order_Management.util.AfterCommit;
+import com.ridoh.Order_Management.util.CacheLoads;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-process read-through cache for the product catalog.
+ * <p>
+ * Products are cached by product id, product lists by category id, and the first pages of the
+ * product listing by page key. The category list with product counts is held as one immutable
+ * snapshot that is replaced as a whole.
+ * </p>
+ * <p>
+ * The catalog rarely changes and is only written by the product and category services, which
+ * invalidate exactly the affected entries once each write has committed. Cached entries also expire
+ * after {@code catalog.cache.ttl-seconds} as a safety net when several application instances share
+ * one database.
+ * </p>
+ * <p>
+ * Every catalog write also advances the {@link CatalogRevisions catalog revision} in its transaction.
+ * {@link #currentVersion()} derives the validators for conditional GET requests on the catalog
+ * endpoints from that revision, re-reading it at most every {@code catalog.http.revision-refresh-millis},
+ * and evicts the whole catalog when it finds a revision written by another instance.
+ * </p>
+ * <p>
+ * Hit ratio and load time are published to Micrometer as the {@code cache.*} meters tagged
+ * {@code cache=catalog.products}, {@code catalog.category-products} and {@code catalog.product-pages}.
+ * </p>
+ */
+@Component
+public class CatalogCache {
+
+    private static final long MAX_CACHED_PAGES = 256;
+
+    private final AsyncCache<Long, ProductDto> productsById;
+    private final AsyncCache<Long, List<ProductDto>> productsByCategory;
+    private final AsyncCache<String, ProductPage> productPages;
+
+    private final AtomicLong productGeneration = new AtomicLong();
+    private final AtomicLong categoryGeneration = new AtomicLong();
+    private final AtomicReference<CategorySnapshot> categorySnapshot = new AtomicReference<>();
+
+    private final CatalogRevisions catalogRevisions;
+    private final AtomicReference<KnownRevision> knownRevision = new AtomicReference<>();
+    private final long revisionRefreshMillis;
+    private final long ttlMillis;
+
+    /**
+     * Creates the catalog caches and registers their statistics with the meter registry.
+     *
+     * @param meterRegistry         the registry the cache metrics are published to
+     * @param catalogRevisions      the catalog revision shared by all instances
+     * @param maximumSize           the maximum number of entries per cache
+     * @param ttlSeconds            how long an entry may be served before it is reloaded
+     * @param revisionRefreshMillis how long the catalog revision is used before it is read again
+     */
+    public CatalogCache(MeterRegistry meterRegistry,
+                        CatalogRevisions catalogRevisions,
+                        @Value("${catalog.cache.maximum-size:10000}") long maximumSize,
+                        @Value("${catalog.cache.ttl-seconds:600}") long ttlSeconds,
+                        @Value("${catalog.http.revision-refresh-millis:1000}") long revisionRefreshMillis) {
+        this.catalogRevisions = catalogRevisions;
+        this.revisionRefreshMillis = revisionRefreshMillis;
+        this.productsById = newCache(maximumSize, ttlSeconds);
+        this.productsByCategory = newCache(maximumSize, ttlSeconds);
+        this.productPages = newCache(MAX_CACHED_PAGES, ttlSeconds);
+        this.ttlMillis = Math.max(1, TimeUnit.SECONDS.toMillis(ttlSeconds));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, productsById, "catalog.products");
+        CaffeineCacheMetrics.monitor(meterRegistry, productsByCategory, "catalog.category-products");
+        CaffeineCacheMetrics.monitor(meterRegistry, productPages, "catalog.product-pages");
+    }
+
+    /**
+     * Returns the cached product, loading it on a miss.
+     *
+     * @param productId the product id
+     * @param loader    loads the product from the database; exceptions are propagated and nothing is cached
+     * @return the product
+     */
+    public ProductDto getProduct(Long productId, Function<Long, ProductDto> loader) {
+        return CacheLoads.get(productsById, productId, loader);
+    }
+
+    /**
+     * Returns the cached products for the given ids in the same order, loading all misses with
+     * one bulk call. Ids the loader does not return are skipped.
+     * <p>
+     * Products loaded while a product was invalidated may predate the write; they are returned to
+     * this caller but not kept, as with the category snapshot.
+     * </p>
+     *
+     * @param productIds the product ids, in the order the caller wants them back
+     * @param loader     loads the missing products from the database, keyed by id
+     * @return the products that exist, in the order of {@code productIds}
+     */
+    public List<ProductDto> getProducts(List<Long> productIds, Function<Set<? extends Long>, Map<Long, ProductDto>> loader) {
+        Map<Long, ProductDto> products = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long productId : productIds) {
+            CompletableFuture<ProductDto> cached = productsById.getIfPresent(productId);
+            if (cached != null && cached.isDone() && !cached.isCompletedExceptionally() && cached.join() != null) {
+                products.put(productId, cached.join());
+            } else {
+                missing.add(productId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long generation = productGeneration.get();
+            Map<Long, ProductDto> loaded = loader.apply(missing);
+            if (productGeneration.get() == generation) {
+                loaded.forEach((productId, product) -> productsById.put(productId, CompletableFuture.completedFuture(product)));
+                // an invalidation between the check and the puts has already advanced the generation
+                if (productGeneration.get() != generation) {
+                    productsById.synchronous().invalidateAll(loaded.keySet());
+                }
+            }
+            products.putAll(loaded);
+        }
+        return productIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Returns the cached products of a category, loading them on a miss.
+     *
+     * @param categoryId the category id
+     * @param loader     loads the products of the category from the database
+     * @return an unmodifiable list of the category's products
+     */
+    public List<ProductDto> getProductsByCategory(Long categoryId, Function<Long, List<ProductDto>> loader) {
+        return CacheLoads.get(productsByCategory, categoryId, id -> List.copyOf(loader.apply(id)));
+    }
+
+    /**
+     * Returns a cached page of the product listing, loading it on a miss. Callers should only cache
+     * the hot first pages; deeper pages are cheap to skip and rarely repeated.
+     *
+     * @param pageKey identifies the page, including its size and pagination mode
+     * @param loader  loads the page from the database
+     * @return the page
+     */
+    public ProductPage getProductPage(String pageKey, Supplier<ProductPage> loader) {
+        return CacheLoads.get(productPages, pageKey, key -> loader.get());
+    }
+
+    /**
+     * Returns the current category snapshot, loading a new one if the last was invalidated.
+     * <p>
+     * A snapshot loaded concurrently with an invalidation carries the older generation and is
+     * never served, so readers cannot resurrect data from before the write.
+     * </p>
+     *
+     * @param loader loads the category summaries from the database
+     * @return the category snapshot
+     */
+    public CategorySnapshot getCategories(Supplier<List<CategoryDto>> loader) {
+        CategorySnapshot snapshot = categorySnapshot.get();
+        long generation = categoryGeneration.get();
+        if (snapshot != null && snapshot.generation() == generation) {
+            return snapshot;
+        }
+        CategorySnapshot loaded = new CategorySnapshot(generation, loader.get());
+        categorySnapshot.compareAndSet(snapshot, loaded);
+        return loaded;
+    }
+
+    /**
+     * Discards the category snapshot once the current transaction commits, after a category was
+     * created, renamed or deleted.
+     */
+    public void invalidateCategories() {
+        Revision revision = catalogRevisions.advance();
+        AfterCommit.run(() -> {
+            evictCategories();
+            committed(revision);
+        });
+    }
+
+    /**
+     * Evicts a changed product together with every list it appears in.
+     *
+     * @param productId   the id of the created, updated or deleted product
+     * @param categoryIds the categories the product belonged to before and after the change
+     */
+    public void invalidateProduct(Long productId, Long... categoryIds) {
+        Revision revision = catalogRevisions.advance();
+        AfterCommit.run(() -> {
+            evictProduct(productId, categoryIds);
+            committed(revision);
+        });
+    }
+
+    /**
+     * Evicts every catalog entry, e.g. after a category and its products were deleted.
+     */
+    public void invalidateAll() {
+        Revision revision = catalogRevisions.advance();
+        AfterCommit.run(() -> {
+            evictAll();
+            committed(revision);
+        });
+    }
+
+    /**
+     * Returns the validators of the catalog, which are the same on every instance.
+     * <p>
+     * The entity tag names the catalog revision and the current expiry window. The window makes it
+     * change at least once per {@code catalog.cache.ttl-seconds}, when cached entries are reloaded
+     * anyway, so changes written to the database without advancing the revision are picked up too.
+     * </p>
+     *
+     * @return the entity tag and last modification time of the catalog
+     */
+    public CatalogVersion currentVersion() {
+        long now = System.currentTimeMillis();
+        KnownRevision known = knownRevision.get();
+        if (known == null || now - known.readAt() >= revisionRefreshMillis) {
+            Revision revision = catalogRevisions.current();
+            known = observe(revision, revision.number());
+        }
+        long window = now / ttlMillis;
+        String etag = "W/\"" + known.revision().number() + "-" + window + "\"";
+        return new CatalogVersion(etag, Math.max(known.revision().modifiedAt(), window * ttlMillis));
+    }
+
+    // runs once this instance's own write committed and its entries were evicted
+    private void committed(Revision revision) {
+        observe(revision, revision.number() - 1);
+    }
+
+    /**
+     * Records a revision read from or written to the database. Revisions this instance has not seen
+     * advance beyond, apart from its own writes, were written by other instances, so everything cached
+     * may predate them.
+     *
+     * @param revision  the revision
+     * @param unchanged the revision this instance must already know for no foreign write to be missed
+     * @return the revision this instance now serves
+     */
+    private KnownRevision observe(Revision revision, long unchanged) {
+        KnownRevision observed = new KnownRevision(revision, System.currentTimeMillis());
+        KnownRevision previous = knownRevision.getAndAccumulate(observed, (current, next) ->
+                current != null && current.revision().number() > next.revision().number() ? current : next);
+        if (previous != null && previous.revision().number() > revision.number()) {
+            // read before a later revision was recorded
+            return previous;
+        }
+        if (previous == null || (previous.revision().number() < revision.number() && previous.revision().number() != unchanged)) {
+            evictAll();
+        }
+        return observed;
+    }
+
+    private void evictAll() {
+        productGeneration.incrementAndGet();
+        productsById.synchronous().invalidateAll();
+        productsByCategory.synchronous().invalidateAll();
+        productPages.synchronous().invalidateAll();
+        evictCategories();
+    }
+
+    private void evictCategories() {
+        categoryGeneration.incrementAndGet();
+        categorySnapshot.set(null);
+    }
+
+    private void evictProduct(Long productId, Long... categoryIds) {
+        // advanced before evicting, so a bulk load that cached the product after this eviction sees it
+        productGeneration.incrementAndGet();
+        if (productId != null) {
+            productsById.synchronous().invalidate(productId);
+        }
+        for (Long categoryId : categoryIds) {
+            if (categoryId != null) {
+                productsByCategory.synchronous().invalidate(categoryId);
+            }
+        }
+        // any write can shift rows between pages and change category product counts
+        productPages.synchronous().invalidateAll();
+        evictCategories();
+    }
+
+    /**
+     * An immutable page of the product listing.
+     *
+     * @param products      the products on the page
+     * @param totalPages    the total number of pages, for offset pagination
+     * @param totalElements the total number of products, for offset pagination
+     * @param nextCursor    the cursor of the next page for keyset pagination, or null on the last page
+     */
+    public record ProductPage(List<ProductDto> products, int totalPages, long totalElements, String nextCursor) {
+
+        public ProductPage {
+            products = List.copyOf(products);
+        }
+    }
+
+    /**
+     * Validators of the catalog for conditional requests.
+     *
+     * @param etag         the weak entity tag of the catalog version
+     * @param lastModified when the catalog last changed, in epoch milliseconds
+     */
+    public record CatalogVersion(String etag, long lastModified) {
+    }
+
+    private record KnownRevision(Revision revision, long readAt) {
+    }
+
+    /**
+     * An immutable snapshot of all categories with their product counts.
+     *
+     * @param generation the invalidation generation the snapshot was loaded in
+     * @param categories the category summaries ordered by id
+     */
+    public record CategorySnapshot(long generation, List<CategoryDto> categories) {
+
+        public CategorySnapshot {
+            categories = List.copyOf(categories);
+        }
+
+        /**
+         * @param categoryId the category id
+         * @return the category summary, if the category exists
+         */
+        public Optional<CategoryDto> find(Long categoryId) {
+            return categories.stream().filter(category -> category.getId().equals(categoryId)).findFirst();
+        }
+    }
+
+    private static <K, V> AsyncCache<K, V> newCache(long maximumSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.ridoh.Order_Management.service;
+
+import com.ridoh.Order_Management.entity.CatalogRevision;
+import com.ridoh.Order_Management.repository.CatalogRevisionRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reads and advances the catalog revision that all application instances share through the database.
+ * <p>
+ * {@link #advance()} joins the transaction of the catalog write, so the revision commits or rolls
+ * back together with the change. Concurrent writes wait for each other on the revision row, which
+ * is acceptable because the catalog is only written by administrators and the image pipeline.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogRevisions {
+
+    private final CatalogRevisionRepo catalogRevisionRepo;
+
+    /**
+     * Advances the catalog revision in the current transaction, or in a new one if none is active.
+     *
+     * @return the revision the catalog will have once the transaction commits
+     */
+    @Transactional
+    public Revision advance() {
+        CatalogRevision row = catalogRevisionRepo.findByIdForUpdate(CatalogRevision.ID).orElseGet(CatalogRevision::new);
+        row.setRevision(row.getRevision() + 1);
+        // Last-Modified has second precision: move to a later second, or a second write within the
+        // same second would still match If-Modified-Since
+        row.setModifiedAt(Math.max(row.getModifiedAt() / 1000 * 1000 + 1000, System.currentTimeMillis()));
+        catalogRevisionRepo.save(row);
+        return new Revision(row.getRevision(), row.getModifiedAt());
+    }
+
+    /**
+     * @return the last committed catalog revision
+     */
+    @Transactional(readOnly = true)
+    public Revision current() {
+        return catalogRevisionRepo.findById(CatalogRevision.ID)
+                .map(row -> new Revision(row.getRevision(), row.getModifiedAt()))
+                .orElse(new Revision(0, 0));
+    }
+
+    /**
+     * Creates the revision row once the application has started, so the first catalog writes of
+     * several instances do not race to insert it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createOnStartup() {
+        if (catalogRevisionRepo.existsById(CatalogRevision.ID)) {
+            return;
+        }
+        CatalogRevision row = new CatalogRevision();
+        row.setModifiedAt(System.currentTimeMillis());
+        try {
+            catalogRevisionRepo.save(row);
+        } catch (DataIntegrityViolationException e) {
+            // another instance created it first
+        }
+    }
+
+    /**
+     * A committed catalog revision.
+     *
+     * @param number     the number of catalog changes committed so far
+     * @param modifiedAt when the catalog last changed, in epoch milliseconds
+     */
+    public record Revision(long number, long modifiedAt) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.ridoh.Order_Management.service;
+
+import com.ridoh.Order_Management.service.Interface.StorageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Stores uploaded product images under content-addressed keys.
+ * <p>
+ * The key is the SHA-256 of the image bytes, so uploading the same image twice writes a single
+ * object and the second upload only costs an existence check. Images are read twice: once to hash
+ * them and once to stream them to the {@link StorageService} with their known length.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageStorage {
+
+    private static final String KEY_PREFIX = "images/";
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif",
+            "image/webp", "webp");
+
+    private final StorageService storageService;
+
+    /**
+     * Stores an uploaded image unless an identical image is already stored.
+     *
+     * @param image the uploaded image
+     * @return the key and public URL of the stored image
+     */
+    public StoredImage saveImage(MultipartFile image) {
+        String contentType = image.getContentType() != null ? image.getContentType() : "image/jpeg";
+        try {
+            String key = KEY_PREFIX + sha256(image) + "." + extension(contentType, image.getOriginalFilename());
+            if (!storageService.exists(key)) {
+                try (InputStream content = image.getInputStream()) {
+                    storageService.store(key, content, image.getSize(), contentType);
+                }
+            }
+            return new StoredImage(key, storageService.urlFor(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read uploaded image", e);
+        }
+    }
+
+    /**
+     * Stores a derived image, such as a resized variant, next to its original.
+     * Nothing is written if the variant already exists.
+     *
+     * @param originalKey the key of the original image
+     * @param variant     the variant name, e.g. {@code thumb}
+     * @param extension   the file extension of the variant's format
+     * @param content     the encoded variant
+     * @param contentType the MIME type of the variant
+     * @return the public URL of the stored variant
+     */
+    public String saveVariant(String originalKey, String variant, String extension, byte[] content, String contentType) {
+        String key = variantKey(originalKey, variant, extension);
+        if (!storageService.exists(key)) {
+            storageService.store(key, new ByteArrayInputStream(content), content.length, contentType);
+        }
+        return storageService.urlFor(key);
+    }
+
+    /**
+     * Returns the key of a variant, derived from the original's key, e.g.
+     * {@code images/<sha256>-thumb.jpg} for {@code images/<sha256>.png}.
+     *
+     * @param originalKey the key of the original image
+     * @param variant     the variant name
+     * @param extension   the file extension of the variant's format
+     * @return the variant key
+     */
+    public static String variantKey(String originalKey, String variant, String extension) {
+        String base = StringUtils.stripFilenameExtension(originalKey);
+        return base + "-" + variant + "." + extension;
+    }
+
+    /**
+     * A stored image.
+     *
+     * @param key the object key
+     * @param url the public URL of the object
+     */
+    public record StoredImage(String key, String url) {
+    }
+
+    private static String sha256(MultipartFile image) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream content = new DigestInputStream(image.getInputStream(), digest)) {
+            content.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String extension(String contentType, String originalFilename) {
+        String known = EXTENSIONS.get(contentType.toLowerCase(Locale.ROOT));
+        if (known != null) {
+            return known;
+        }
+        String extension = StringUtils.getFilenameExtension(originalFilename);
+        return extension != null && extension.matches("[A-Za-z0-9]{1,5}") ? extension.toLowerCase(Locale.ROOT) : "bin";
+    }
+
+}
@@ -0,0 +1,258 @@
+package com.ridoh.Order_Management.service;
+
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.service.ImageStorage.StoredImage;
+import com.ridoh.Order_Management.service.Interface.StorageService;
+import com.ridoh.Order_Management.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates resized variants of product images in the background.
+ * <p>
+ * After a product is created or its image replaced, the original is read back from the
+ * {@link StorageService}, scaled down to a thumbnail and a medium-size image, and the variants are
+ * stored next to the original under keys derived from its content hash. Their URLs are then
+ * recorded on the product, unless its image was replaced again in the meantime.
+ * </p>
+ * <p>
+ * Work runs on a small fixed pool with a bounded queue so that decoding large uploads never holds
+ * up the admin request or starves request threads of CPU. When the queue is full the image is
+ * skipped and the product keeps serving its original image. Queue depth, processed, failed and
+ * rejected images and processing time are published as the {@code image.pipeline.*} meters.
+ * </p>
+ * <p>
+ * Variants are encoded as WebP when an ImageIO WebP writer is on the classpath and as JPEG otherwise.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ImageVariantPipeline {
+
+    private static final List<Variant> VARIANTS = List.of(new Variant("thumb", 200), new Variant("medium", 600));
+
+    private static final float QUALITY = 0.85f;
+
+    private final StorageService storageService;
+    private final ImageStorage imageStorage;
+    private final ProductRepo productRepo;
+    private final CatalogCache catalogCache;
+
+    private final ThreadPoolExecutor executor;
+    private final String format;
+    private final String extension;
+
+    private final Counter processed;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Timer duration;
+
+    /**
+     * Creates the worker pool and registers the pipeline meters.
+     *
+     * @param storageService the storage the originals are read from
+     * @param imageStorage   stores the generated variants
+     * @param productRepo    records the variant URLs
+     * @param catalogCache   evicted once a product's variants are recorded
+     * @param meterRegistry  the registry the pipeline meters are published to
+     * @param threads        the number of worker threads
+     * @param queueCapacity  the number of images that may wait for a worker before new ones are skipped
+     */
+    public ImageVariantPipeline(StorageService storageService,
+                                ImageStorage imageStorage,
+                                ProductRepo productRepo,
+                                CatalogCache catalogCache,
+                                MeterRegistry meterRegistry,
+                                @Value("${image.pipeline.threads:2}") int threads,
+                                @Value("${image.pipeline.queue-capacity:100}") int queueCapacity) {
+        this.storageService = storageService;
+        this.imageStorage = imageStorage;
+        this.productRepo = productRepo;
+        this.catalogCache = catalogCache;
+
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue,
+                Thread.ofPlatform().name("image-variants-", 0).daemon().factory());
+        this.format = ImageIO.getImageWritersByFormatName("webp").hasNext() ? "webp" : "jpeg";
+        this.extension = "webp".equals(format) ? "webp" : "jpg";
+
+        Gauge.builder("image.pipeline.queue.depth", queue, BlockingQueue::size)
+                .description("Images waiting for a worker")
+                .register(meterRegistry);
+        this.processed = imageCounter(meterRegistry, "processed");
+        this.failed = imageCounter(meterRegistry, "failed");
+        this.rejected = imageCounter(meterRegistry, "rejected");
+        this.duration = Timer.builder("image.pipeline.duration")
+                .description("Time to generate and store the variants of one image")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the generation of a product image's variants once the current transaction commits.
+     * Never blocks; if the queue is full the image is skipped.
+     *
+     * @param product the saved product
+     * @param image   the product's newly stored image
+     */
+    public void submit(Product product, StoredImage image) {
+        Long productId = product.getId();
+        Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+        AfterCommit.run(() -> {
+            try {
+                executor.execute(() -> process(productId, categoryId, image));
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                log.warn("Image pipeline queue is full, skipping variants of product {}", productId);
+            }
+        });
+    }
+
+    /**
+     * Generates and records the variants of one product image on the calling thread.
+     *
+     * @param productId  the ID of the product
+     * @param categoryId the ID of the product's category, whose cached listing is evicted
+     * @param image      the stored original image
+     */
+    void process(Long productId, Long categoryId, StoredImage image) {
+        Timer.Sample sample = Timer.start();
+        try {
+            BufferedImage original = null;
+            String[] urls = new String[VARIANTS.size()];
+            for (int i = 0; i < VARIANTS.size(); i++) {
+                Variant variant = VARIANTS.get(i);
+                String key = ImageStorage.variantKey(image.key(), variant.name(), extension);
+                if (storageService.exists(key)) {
+                    // an identical image was uploaded before, so its variants already exist
+                    urls[i] = storageService.urlFor(key);
+                    continue;
+                }
+                if (original == null) {
+                    original = read(image.key());
+                }
+                byte[] encoded = encode(scale(original, variant.maxDimension()));
+                urls[i] = imageStorage.saveVariant(image.key(), variant.name(), extension, encoded, "image/" + format);
+            }
+
+            if (productRepo.updateImageVariants(productId, image.url(), urls[0], urls[1]) > 0) {
+                catalogCache.invalidateProduct(productId, categoryId);
+            }
+            processed.increment();
+        } catch (RuntimeException | IOException e) {
+            failed.increment();
+            log.warn("Unable to generate variants of product {} image {}", productId, image.key(), e);
+        } finally {
+            sample.stop(duration);
+        }
+    }
+
+    /**
+     * Stops accepting images and waits briefly for running ones to finish.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private BufferedImage read(String key) throws IOException {
+        try (InputStream content = storageService.open(key)) {
+            BufferedImage image = ImageIO.read(content);
+            if (image == null) {
+                throw new IOException("Unsupported image format: " + key);
+            }
+            return image;
+        }
+    }
+
+    /**
+     * Scales an image so that its longer side is at most {@code maxDimension}, keeping the aspect
+     * ratio. Smaller images are not enlarged. Transparency is flattened onto white since neither
+     * JPEG nor lossy WebP keeps it.
+     */
+    static BufferedImage scale(BufferedImage source, int maxDimension) {
+        double factor = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * factor));
+
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private byte[] encode(BufferedImage image) {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to encode image variant", e);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Counter imageCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("image.pipeline.images")
+                .description("Product images handled by the variant pipeline")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A generated image size.
+     *
+     * @param name         the suffix of the variant key
+     * @param maxDimension the maximum width and height in pixels
+     */
+    private record Variant(String name, int maxDimension) {
+    }
+}
@@ -40,6 +40,16 @@ public interface CategoryService {
      */
     Response getCategoryById(Long categoryId);
 
+    /**
+     * Retrieves one page of the products in a category.
+     *
+     * @param categoryId the ID of the category
+     * @param page       the zero-based page number
+     * @param size       the page size; capped at the configured maximum
+     * @return a response containing the products on the page and the paging totals
+     */
+    Response getCategoryProducts(Long categoryId, int page, int size);
+
     /**
      * Deletes a product category by its ID.
      *
@@ -4,8 +4,12 @@ import com.ridoh.Order_Management.dto.OrderRequest;
 import com.ridoh.Order_Management.dto.Response;
 import com.ridoh.Order_Management.enums.OrderStatus;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Service interface for managing order items within the order management system.
@@ -20,6 +24,16 @@ public interface OrderItemService {
      */
     Response placeOrder(OrderRequest orderRequest);
 
+    /**
+     * Places a new order once per idempotency key. Retries with the same key return the result of
+     * the first request instead of placing another order.
+     *
+     * @param orderRequest   the order request containing order details
+     * @param idempotencyKey the client's idempotency key, or null to always place a new order
+     * @return a response indicating the success or failure of the order placement
+     */
+    Response placeOrder(OrderRequest orderRequest, String idempotencyKey);
+
     /**
      * Updates the status of a specific order item.
      *
@@ -29,6 +43,16 @@ public interface OrderItemService {
      */
     Response updateOrderItemStatus(Long orderItemId, String status);
 
+    /**
+     * Moves many order items to the same status at once. Items whose current status cannot lead
+     * to the new one are left unchanged and reported.
+     *
+     * @param orderItemIds the IDs of the order items to update
+     * @param status the new status for the order items
+     * @return a response containing the outcome for every order item
+     */
+    Response updateOrderItemStatuses(List<Long> orderItemIds, String status);
+
     /**
      * Filters order items based on the provided criteria, such as order status, date range, and item ID.
      *
@@ -40,4 +64,46 @@ public interface OrderItemService {
      * @return a response containing the filtered order items
      */
     Response filterOrderItems(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate, Long itemId, Pageable pageable);
+
+    /**
+     * Filters order items using keyset pagination, newest first.
+     * Each page seeks past the cursor instead of using an offset, and no total count is computed.
+     *
+     * @param status the status of the order items to filter (optional)
+     * @param startDate the start date for filtering order items (optional)
+     * @param endDate the end date for filtering order items (optional)
+     * @param itemId the ID of a specific item to filter (optional)
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the maximum number of order items to return
+     * @return a response containing the order items and the cursor of the next page, if any
+     */
+    Response filterOrderItemsByCursor(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate, Long itemId, String cursor, int size);
+
+    /**
+     * Writes every order item matching the criteria to the output stream as newline-delimited JSON,
+     * newest first, without holding the full result in memory.
+     *
+     * @param status the status of the order items to export (optional)
+     * @param startDate the start date for filtering order items (optional)
+     * @param endDate the end date for filtering order items (optional)
+     * @param itemId the ID of a specific item to export (optional)
+     * @param outputStream the stream the NDJSON rows are written to
+     * @throws IOException if writing to the output stream fails
+     */
+    void exportOrderItems(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate, Long itemId, OutputStream outputStream) throws IOException;
+
+    /**
+     * Copies order items that are missing from the order history read model and corrects stale statuses.
+     *
+     * @return a response containing the number of entries inserted
+     */
+    Response backfillOrderHistory();
+
+    /**
+     * Opens a server-sent-event stream of order item status changes for the authenticated user.
+     * Customers receive changes to their own order items, admins receive all changes.
+     *
+     * @return the emitter the events are written to
+     */
+    SseEmitter subscribeToStatusEvents();
 }
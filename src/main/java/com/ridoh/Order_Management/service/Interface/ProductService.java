@@ -18,9 +18,10 @@ public interface ProductService {
      * @param name the name of the product
      * @param description the description of the product
      * @param price the price of the product
+     * @param stock the units available for sale, or null to not track stock
      * @return a response indicating the success or failure of the product creation
      */
-    Response createProduct(Long categoryId, MultipartFile image, String name, String description, BigDecimal price);
+    Response createProduct(Long categoryId, MultipartFile image, String name, String description, BigDecimal price, Integer stock);
 
     /**
      * Updates an existing product with new details.
@@ -31,9 +32,10 @@ public interface ProductService {
      * @param name the updated name of the product
      * @param description the updated description of the product
      * @param price the updated price of the product
+     * @param stock the new number of units available for sale
      * @return a response indicating the success or failure of the product update
      */
-    Response updateProduct(Long productId, Long categoryId, MultipartFile image, String name, String description, BigDecimal price);
+    Response updateProduct(Long productId, Long categoryId, MultipartFile image, String name, String description, BigDecimal price, Integer stock);
 
     /**
      * Deletes a product by its ID.
@@ -52,11 +54,22 @@ public interface ProductService {
     Response getProductById(Long productId);
 
     /**
-     * Retrieves a list of all available products.
+     * Retrieves one page of products, newest first, with offset pagination.
      *
-     * @return a response containing the list of all products
+     * @param page the zero-based page number
+     * @param size the page size; capped at the configured maximum
+     * @return a response containing the products on the page and the paging totals
      */
-    Response getAllProducts();
+    Response getAllProducts(int page, int size);
+
+    /**
+     * Retrieves one page of products, newest first, with keyset pagination.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size   the page size; capped at the configured maximum
+     * @return a response containing the products on the page and the cursor of the next page
+     */
+    Response getAllProductsByCursor(String cursor, int size);
 
     /**
      * Retrieves all products belonging to a specific category.
@@ -0,0 +1,48 @@
+package com.ridoh.Order_Management.service.Interface;
+
+import java.io.InputStream;
+
+/**
+ * Interface for the object store that holds product images.
+ * <p>
+ * Implementations are selected with {@code storage.type}: {@code s3} (the default, also used with
+ * S3-compatible stand-ins such as MinIO or LocalStack) or {@code local} for a filesystem-backed store.
+ * Objects are written once under their key and never modified afterwards.
+ * </p>
+ */
+public interface StorageService {
+
+    /**
+     * Checks whether an object is already stored under the given key.
+     *
+     * @param key the object key
+     * @return true if the object exists
+     */
+    boolean exists(String key);
+
+    /**
+     * Streams an object of known length into the store.
+     *
+     * @param key           the object key
+     * @param content       the object content; read once and not closed
+     * @param contentLength the exact number of bytes in {@code content}
+     * @param contentType   the MIME type of the object
+     */
+    void store(String key, InputStream content, long contentLength, String contentType);
+
+    /**
+     * Opens a stored object for reading.
+     *
+     * @param key the object key
+     * @return the object content; the caller must close it
+     */
+    InputStream open(String key);
+
+    /**
+     * Returns the public URL under which a stored object is served.
+     *
+     * @param key the object key
+     * @return the URL of the object
+     */
+    String urlFor(String key);
+}
@@ -4,6 +4,7 @@ import com.ridoh.Order_Management.dto.LoginRequest;
 import com.ridoh.Order_Management.dto.Response;
 import com.ridoh.Order_Management.dto.UserDto;
 import com.ridoh.Order_Management.entity.User;
+import com.ridoh.Order_Management.security.AuthUser;
 import jakarta.mail.MessagingException;
 
 /**
@@ -44,9 +45,20 @@ public interface UserService {
     User getLoginUser();
 
     /**
-     * Retrieves the authenticated user's profile and order history.
+     * Retrieves the principal of the currently logged-in user from the security context.
+     * Use this instead of {@link #getLoginUser()} when only the id, name, email or role is needed,
+     * as it does not query the database.
      *
-     * @return a response containing the user's profile and order history
+     * @return the authenticated principal
      */
-    Response getUserInfoAndOrderHistory();
+    AuthUser getLoginPrincipal();
+
+    /**
+     * Retrieves the authenticated user's profile and one page of their order history, newest first.
+     *
+     * @param cursor the cursor of the previous page, or null for the first page
+     * @param size   the maximum number of order items to return
+     * @return a response containing the user's profile, order history and the next cursor
+     */
+    Response getUserInfoAndOrderHistory(String cursor, int size);
 }
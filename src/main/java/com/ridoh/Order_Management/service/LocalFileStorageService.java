@@ -0,0 +1,89 @@
+package com.ridoh.Order_Management.service;
+
+import com.ridoh.Order_Management.service.Interface.StorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Filesystem-backed storage for local development and tests.
+ * <p>
+ * Objects are written to a temporary file and moved into place atomically, so readers never see a
+ * partially written object. Stored files are served under {@code storage.local.base-url}.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalFileStorageService implements StorageService {
+
+    private final Path root;
+    private final String baseUrl;
+
+    /**
+     * @param root    the directory objects are stored in
+     * @param baseUrl the URL prefix under which the directory is served
+     */
+    public LocalFileStorageService(@Value("${storage.local.root:storage}") Path root,
+                                   @Value("${storage.local.base-url:/files}") String baseUrl) {
+        this.root = root.toAbsolutePath().normalize();
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public void store(String key, InputStream content, long contentLength, String contentType) {
+        Path target = resolve(key);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            try {
+                Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to store " + key, e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) {
+        try {
+            return Files.newInputStream(resolve(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + key, e);
+        }
+    }
+
+    @Override
+    public String urlFor(String key) {
+        return baseUrl + "/" + key;
+    }
+
+    /**
+     * @return the directory objects are stored in
+     */
+    public Path getRoot() {
+        return root;
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+        return path;
+    }
+}
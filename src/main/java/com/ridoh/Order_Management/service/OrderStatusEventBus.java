@@ -0,0 +1,305 @@
+package com.ridoh.Order_Management.service;
+
+import com.ridoh.Order_Management.enums.OrderStatus;
+import com.ridoh.Order_Management.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process event bus that pushes order item status changes to server-sent-event subscribers.
+ * <p>
+ * Status changes are published once their transaction commits. Customers receive the changes of
+ * their own order items and admins receive all of them. Subscribers are indexed by user id, so
+ * routing an event only touches the subscribers that receive it; idle subscribers of other users
+ * cost nothing per event.
+ * </p>
+ * <p>
+ * Every subscriber has a buffer of {@code order.events.buffer-size} events, drained by a virtual
+ * thread so a slow connection never holds up the committing thread or other subscribers. When the
+ * buffer of a slow subscriber is full, {@code order.events.overflow-policy} decides whether the
+ * oldest buffered event is dropped ({@code DROP_OLDEST}) or the subscriber is disconnected
+ * ({@code DISCONNECT}) so its client reconnects and reloads its state. Idle connections get a
+ * heartbeat comment every {@code order.events.heartbeat-ms} so proxies keep them open and dead ones
+ * are detected. Events are not persisted; clients that reconnect should reload
+ * {@code /user/my-info} once.
+ * </p>
+ * <p>
+ * Subscriber count, sent, dropped and disconnected events and the routing time per published batch
+ * are published as the {@code order.events.*} meters.
+ * </p>
+ */
+@Component
+public class OrderStatusEventBus {
+
+    private static final String EVENT_NAME = "order-item-status";
+
+    private final Map<Long, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final Set<Subscriber> admins = ConcurrentHashMap.newKeySet();
+    private final AtomicLong subscriberCount = new AtomicLong();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long timeoutMillis;
+
+    private final Counter sent;
+    private final Counter dropped;
+    private final Counter disconnected;
+    private final Timer fanout;
+
+    /**
+     * Creates the event bus and registers its meters.
+     *
+     * @param meterRegistry  the registry the bus meters are published to
+     * @param bufferSize     the number of undelivered events kept per subscriber
+     * @param overflowPolicy what to do when a subscriber's buffer is full
+     * @param timeoutMillis  how long a subscription stays open before the client has to reconnect
+     */
+    public OrderStatusEventBus(MeterRegistry meterRegistry,
+                               @Value("${order.events.buffer-size:256}") int bufferSize,
+                               @Value("${order.events.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+                               @Value("${order.events.timeout-ms:1800000}") long timeoutMillis) {
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.timeoutMillis = timeoutMillis;
+
+        Gauge.builder("order.events.subscribers", subscriberCount, AtomicLong::get)
+                .description("Open order status event streams")
+                .register(meterRegistry);
+        this.sent = Counter.builder("order.events.sent").description("Events written to subscribers").register(meterRegistry);
+        this.dropped = Counter.builder("order.events.dropped").description("Events dropped from full subscriber buffers").register(meterRegistry);
+        this.disconnected = Counter.builder("order.events.disconnected").description("Subscribers disconnected for falling behind").register(meterRegistry);
+        this.fanout = Timer.builder("order.events.fanout").description("Time to route one batch of status changes to subscriber buffers").register(meterRegistry);
+    }
+
+    /**
+     * Opens an event stream for a user.
+     *
+     * @param userId the ID of the subscribing user
+     * @param admin  whether the user receives the changes of all users
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(Long userId, boolean admin) {
+        return subscribe(userId, admin, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(Long userId, boolean admin, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, admin, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+
+        if (admin) {
+            admins.add(subscriber);
+        } else {
+            subscribersByUser.compute(userId, (id, subscribers) -> {
+                Set<Subscriber> updated = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+                updated.add(subscriber);
+                return updated;
+            });
+        }
+        subscriberCount.incrementAndGet();
+        return emitter;
+    }
+
+    /**
+     * Publishes status changes to their subscribers once the current transaction commits.
+     *
+     * @param changes the committed status changes
+     */
+    public void publish(List<StatusChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> fanout.record(() -> route(changes)));
+    }
+
+    private void route(List<StatusChange> changes) {
+        for (StatusChange change : changes) {
+            Set<Subscriber> owners = subscribersByUser.get(change.userId());
+            if (owners != null) {
+                owners.forEach(subscriber -> offer(subscriber, change));
+            }
+            admins.forEach(subscriber -> offer(subscriber, change));
+        }
+    }
+
+    /**
+     * Sends a heartbeat comment to every subscriber that has nothing else queued.
+     */
+    @Scheduled(fixedRateString = "${order.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(this::sendHeartbeat));
+        admins.forEach(this::sendHeartbeat);
+    }
+
+    /**
+     * Closes every open stream.
+     */
+    @PreDestroy
+    public void shutdown() {
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter().complete()));
+        admins.forEach(subscriber -> subscriber.emitter().complete());
+        senders.shutdownNow();
+    }
+
+    private void offer(Subscriber subscriber, StatusChange change) {
+        if (!subscriber.buffer().offer(change)) {
+            if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                disconnected.increment();
+                unregister(subscriber);
+                subscriber.emitter().complete();
+                return;
+            }
+            // DROP_OLDEST: keep the newest state, losing the oldest buffered change
+            while (!subscriber.buffer().offer(change)) {
+                if (subscriber.buffer().poll() != null) {
+                    dropped.increment();
+                }
+            }
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            StatusChange change;
+            while ((change = subscriber.buffer().poll()) != null) {
+                subscriber.emitter().send(SseEmitter.event()
+                        .id(Long.toString(eventIds.incrementAndGet()))
+                        .name(EVENT_NAME)
+                        .data(change, MediaType.APPLICATION_JSON));
+                sent.increment();
+            }
+        } catch (IOException | IllegalStateException e) {
+            unregister(subscriber);
+            return;
+        } finally {
+            subscriber.draining().set(false);
+        }
+        // an event may have been offered after the last poll but before draining was reset
+        if (!subscriber.buffer().isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void sendHeartbeat(Subscriber subscriber) {
+        if (subscriber.buffer().isEmpty() && !subscriber.draining().get()) {
+            senders.execute(() -> {
+                try {
+                    subscriber.emitter().send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    unregister(subscriber);
+                }
+            });
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        AtomicBoolean removed = new AtomicBoolean();
+        if (subscriber.admin()) {
+            removed.set(admins.remove(subscriber));
+        } else {
+            // remove the user's entry together with its last subscriber, atomically with subscribe()
+            subscribersByUser.computeIfPresent(subscriber.userId(), (id, subscribers) -> {
+                removed.set(subscribers.remove(subscriber));
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+        if (removed.get()) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * What to do with a new event when a subscriber's buffer is full.
+     */
+    public enum OverflowPolicy {
+
+        /** Drop the oldest buffered event to make room. */
+        DROP_OLDEST,
+
+        /** Close the subscriber's stream; the client reconnects and reloads its state. */
+        DISCONNECT
+    }
+
+    /**
+     * A committed status change of one order item.
+     *
+     * @param orderItemId    the ID of the order item
+     * @param userId         the ID of the user who placed the order
+     * @param previousStatus the status before the change
+     * @param status         the new status
+     * @param changedAt      when the change was made
+     */
+    public record StatusChange(Long orderItemId, Long userId, OrderStatus previousStatus, OrderStatus status,
+                               LocalDateTime changedAt) {
+    }
+
+    /**
+     * One open stream. Compared by identity, so two streams of the same user are distinct.
+     */
+    private static final class Subscriber {
+
+        private final Long userId;
+        private final boolean admin;
+        private final SseEmitter emitter;
+        private final BlockingQueue<StatusChange> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(Long userId, boolean admin, SseEmitter emitter, BlockingQueue<StatusChange> buffer) {
+            this.userId = userId;
+            this.admin = admin;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+
+        Long userId() {
+            return userId;
+        }
+
+        boolean admin() {
+            return admin;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        BlockingQueue<StatusChange> buffer() {
+            return buffer;
+        }
+
+        AtomicBoolean draining() {
+            return draining;
+        }
+    }
+}
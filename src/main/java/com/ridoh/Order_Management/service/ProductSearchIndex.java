@@ -0,0 +1,296 @@
+package com.ridoh.Order_Management.service;
+
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.util.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.EdgeNGramTokenFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory Lucene index over product names and descriptions, used by product search instead of
+ * {@code LIKE '%x%'} scans.
+ * <p>
+ * Both fields are tokenized, lower-cased, ASCII-folded and indexed with their edge n-grams, so every
+ * query word matches any indexed word it is a prefix of. All query words must match; results are
+ * ranked by BM25 with matches in the name weighted above matches in the description, and whole-word
+ * name matches above prefix matches.
+ * </p>
+ * <p>
+ * The index is rebuilt from the database once the application is ready and then kept current by
+ * the product and category writers. Until the first build has finished {@link #isReady()} returns
+ * {@code false} and callers fall back to the database query.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    /** Longest indexed prefix; longer query words are truncated to it. */
+    static final int MAX_PREFIX_LENGTH = 20;
+
+    private static final String ID = "id";
+    private static final String CATEGORY = "category";
+    private static final String NAME = "name";
+    private static final String NAME_EXACT = "name_exact";
+    private static final String DESCRIPTION = "description";
+
+    private static final float NAME_BOOST = 3f;
+    private static final float NAME_EXACT_BOOST = 2f;
+
+    private final ProductRepo productRepo;
+    private final int rebuildBatchSize;
+
+    private final Analyzer queryAnalyzer = new WordAnalyzer(false);
+    private final Directory directory = new ByteBuffersDirectory();
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile boolean ready;
+
+    /**
+     * @param productRepo      the repository the index is rebuilt from
+     * @param rebuildBatchSize how many products are read per query while rebuilding
+     */
+    public ProductSearchIndex(ProductRepo productRepo,
+                              @Value("${product.search.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.productRepo = productRepo;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    /**
+     * Opens the index writer and the near-real-time searcher over the empty index.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        Analyzer indexAnalyzer = new PerFieldAnalyzerWrapper(new WordAnalyzer(true), Map.of(NAME_EXACT, queryAnalyzer));
+        writer = new IndexWriter(directory, new IndexWriterConfig(indexAnalyzer));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Rebuilds the index from the database, reading products in id order with keyset pagination.
+     * <p>
+     * Products written while the rebuild runs are indexed by their writers as well; because every
+     * document is replaced by id, the result converges to the database state.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        long indexed = 0;
+        try {
+            writer.deleteAll();
+            Long lastId = 0L;
+            List<Product> batch;
+            do {
+                batch = productRepo.findByIdGreaterThan(lastId, PageRequest.of(0, rebuildBatchSize, Sort.by(ID)));
+                for (Product product : batch) {
+                    writer.updateDocument(idTerm(product.getId()), toDocument(product));
+                    lastId = product.getId();
+                }
+                indexed += batch.size();
+            } while (batch.size() == rebuildBatchSize);
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to build the product search index", e);
+        }
+        ready = true;
+        log.info("Indexed {} products for search in {} ms", indexed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * @return whether the initial build has finished and {@link #search} reflects the catalog
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds or replaces a product in the index once the current transaction commits.
+     *
+     * @param product the saved product
+     */
+    public void index(Product product) {
+        Term id = idTerm(product.getId());
+        Document document = toDocument(product);
+        AfterCommit.run(() -> update(() -> writer.updateDocument(id, document)));
+    }
+
+    /**
+     * Removes a product from the index once the current transaction commits.
+     *
+     * @param productId the id of the deleted product
+     */
+    public void remove(Long productId) {
+        Term id = idTerm(productId);
+        AfterCommit.run(() -> update(() -> writer.deleteDocuments(id)));
+    }
+
+    /**
+     * Removes every product of a category from the index once the current transaction commits.
+     *
+     * @param categoryId the id of the deleted category
+     */
+    public void removeCategory(Long categoryId) {
+        Term category = new Term(CATEGORY, String.valueOf(categoryId));
+        AfterCommit.run(() -> update(() -> writer.deleteDocuments(category)));
+    }
+
+    /**
+     * Finds the products matching every word of the search text, best match first.
+     *
+     * @param text  the user's search text
+     * @param limit the maximum number of ids to return
+     * @return the matching product ids in relevance order
+     */
+    public List<Long> search(String text, int limit) {
+        List<String> words = analyze(text);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String word : words) {
+            String prefix = word.length() > MAX_PREFIX_LENGTH ? word.substring(0, MAX_PREFIX_LENGTH) : word;
+            query.add(new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(NAME, prefix)), NAME_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new TermQuery(new Term(NAME_EXACT, word)), NAME_EXACT_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(DESCRIPTION, prefix)), BooleanClause.Occur.SHOULD)
+                    .build(), BooleanClause.Occur.MUST);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] hits = searcher.search(query.build(), limit).scoreDocs;
+                List<Long> ids = new ArrayList<>(hits.length);
+                for (ScoreDoc hit : hits) {
+                    ids.add(Long.valueOf(searcher.storedFields().document(hit.doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Product search failed", e);
+        }
+    }
+
+    private List<String> analyze(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        try (TokenStream stream = queryAnalyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                words.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words;
+    }
+
+    private void update(IndexUpdate update) {
+        try {
+            update.apply();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to update the product search index", e);
+        }
+    }
+
+    private static Term idTerm(Long productId) {
+        return new Term(ID, String.valueOf(productId));
+    }
+
+    private static Document toDocument(Product product) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(product.getId()), Field.Store.YES));
+        if (product.getCategory() != null) {
+            document.add(new StringField(CATEGORY, String.valueOf(product.getCategory().getId()), Field.Store.NO));
+        }
+        if (product.getName() != null) {
+            document.add(new TextField(NAME, product.getName(), Field.Store.NO));
+            document.add(new TextField(NAME_EXACT, product.getName(), Field.Store.NO));
+        }
+        if (product.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, product.getDescription(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    @FunctionalInterface
+    private interface IndexUpdate {
+        void apply() throws IOException;
+    }
+
+    /**
+     * Splits text into lower-cased, ASCII-folded words, optionally expanded to all their prefixes.
+     */
+    private static final class WordAnalyzer extends Analyzer {
+
+        private final boolean prefixes;
+
+        private WordAnalyzer(boolean prefixes) {
+            this.prefixes = prefixes;
+        }
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            if (prefixes) {
+                stream = new EdgeNGramTokenFilter(stream, 1, MAX_PREFIX_LENGTH, true);
+            }
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.ridoh.Order_Management.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory approximation of a product's available stock, split across shards so concurrent
+ * buyers of the same product do not all contend on one counter.
+ * <p>
+ * The counter is only a gate in front of the database: when it reaches zero, further orders are
+ * rejected without touching the product row. A successful acquire still has to be confirmed by
+ * the conditional stock update, which remains the source of truth.
+ * </p>
+ */
+public final class ShardedStockCounter {
+
+    // Shards sit 16 longs (128 bytes) apart so neighbouring shards do not share a cache line.
+    private static final int STRIDE = 16;
+
+    private final AtomicLongArray slots;
+    private final int shards;
+    private final long createdAtNanos = System.nanoTime();
+
+    /**
+     * Creates a counter holding the given stock, spread evenly over the shards.
+     *
+     * @param stock  the available stock
+     * @param shards the number of shards
+     */
+    public ShardedStockCounter(long stock, int shards) {
+        this.shards = Math.max(1, shards);
+        this.slots = new AtomicLongArray(this.shards * STRIDE);
+        for (int shard = 0; shard < this.shards; shard++) {
+            slots.set(shard * STRIDE, stock / this.shards + (shard < stock % this.shards ? 1 : 0));
+        }
+    }
+
+    /**
+     * Takes units from the counter, starting at a random shard and borrowing from the others if
+     * needed. Either all units are taken or none.
+     *
+     * @param quantity the number of units to take
+     * @return whether the units were taken
+     */
+    public boolean tryAcquire(long quantity) {
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        long taken = 0;
+        for (int i = 0; i < shards && taken < quantity; i++) {
+            int index = ((start + i) % shards) * STRIDE;
+            long available;
+            long take;
+            do {
+                available = slots.get(index);
+                take = Math.min(available, quantity - taken);
+            } while (take > 0 && !slots.compareAndSet(index, available, available - take));
+            taken += Math.max(take, 0);
+        }
+        if (taken < quantity) {
+            release(taken);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns units to the counter.
+     *
+     * @param quantity the number of units to return
+     */
+    public void release(long quantity) {
+        if (quantity > 0) {
+            slots.addAndGet(ThreadLocalRandom.current().nextInt(shards) * STRIDE, quantity);
+        }
+    }
+
+    /**
+     * @return the units currently available across all shards
+     */
+    public long available() {
+        long total = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            total += slots.get(shard * STRIDE);
+        }
+        return total;
+    }
+
+    /**
+     * @return nanoseconds since the counter was loaded from the database
+     */
+    public long ageNanos() {
+        return System.nanoTime() - createdAtNanos;
+    }
+}
@@ -1,20 +1,28 @@
 package com.ridoh.Order_Management.service.impl;
 
 import com.ridoh.Order_Management.dto.CategoryDto;
+import com.ridoh.Order_Management.dto.ProductDto;
 import com.ridoh.Order_Management.dto.Response;
 import com.ridoh.Order_Management.entity.Category;
+import com.ridoh.Order_Management.exception.InvalidCredentialsException;
 import com.ridoh.Order_Management.exception.NotFoundException;
 import com.ridoh.Order_Management.mapper.EntityDtoMapper;
 import com.ridoh.Order_Management.repository.CategoryRepo;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.service.CatalogCache;
+import com.ridoh.Order_Management.service.ProductSearchIndex;
 import com.ridoh.Order_Management.service.Interface.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of the CategoryService interface.
@@ -23,11 +31,16 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepo categoryRepo;
     private final EntityDtoMapper entityDtoMapper;
+    private final CatalogCache catalogCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductRepo productRepo;
+
+    @Value("${product.page.max-size:100}")
+    private int maxPageSize;
 
     /**
      * Creates a new category if it does not already exist.
@@ -36,6 +49,7 @@ public class CategoryServiceImpl implements CategoryService {
      * @return Response indicating success or failure.
      */
     @Override
+    @Transactional
     public Response createCategory(CategoryDto categoryRequest) {
         String categoryName = categoryRequest.getName().trim().toLowerCase();
 
@@ -50,6 +64,7 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = new Category();
         category.setName(categoryRequest.getName().trim());
         categoryRepo.save(category);
+        catalogCache.invalidateCategories();
 
         return Response.builder()
                 .status(201)
@@ -65,6 +80,7 @@ public class CategoryServiceImpl implements CategoryService {
      * @return Response indicating success or failure.
      */
     @Override
+    @Transactional
     public Response updateCategory(Long categoryId, CategoryDto categoryRequest) {
         Category category = categoryRepo.findById(categoryId)
                 .orElseThrow(() -> new NotFoundException("Category Not Found"));
@@ -82,6 +98,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         category.setName(categoryRequest.getName().trim());
         categoryRepo.save(category);
+        catalogCache.invalidateCategories();
 
         return Response.builder()
                 .status(200)
@@ -90,15 +107,15 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     /**
-     * Retrieves all categories.
+     * Retrieves all categories as summaries (id, name and product count).
+     * The summaries come from one grouped query and are served from an immutable snapshot
+     * until a category or product changes.
      *
      * @return Response containing a list of all categories.
      */
     @Override
     public Response getAllCategories() {
-        List<CategoryDto> categoryDtoList = categoryRepo.findAll().stream()
-                .map(entityDtoMapper::mapCategoryToDtoBasic)
-                .collect(Collectors.toList());
+        List<CategoryDto> categoryDtoList = categorySnapshot().categories();
 
         return Response.builder()
                 .status(200)
@@ -107,23 +124,51 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     /**
-     * Retrieves a specific category by its ID.
+     * Retrieves the summary of a specific category by its ID.
      *
      * @param categoryId ID of the category to retrieve.
      * @return Response containing category details.
      */
     @Override
     public Response getCategoryById(Long categoryId) {
-        Category category = categoryRepo.findById(categoryId)
+        CategoryDto categoryDto = categorySnapshot().find(categoryId)
                 .orElseThrow(() -> new NotFoundException("Category Not Found"));
 
-        CategoryDto categoryDto = entityDtoMapper.mapCategoryToDtoBasic(category);
         return Response.builder()
                 .status(200)
                 .data(categoryDto)
                 .build();
     }
 
+    /**
+     * Retrieves one page of the products in a category, newest first.
+     *
+     * @param categoryId ID of the category.
+     * @param page       The zero-based page number.
+     * @param size       The requested page size, capped at {@code product.page.max-size}.
+     * @return Response containing the products on the page and the paging totals.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Response getCategoryProducts(Long categoryId, int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new InvalidCredentialsException("Invalid page or page size");
+        }
+        categorySnapshot().find(categoryId)
+                .orElseThrow(() -> new NotFoundException("Category Not Found"));
+
+        Page<ProductDto> products = productRepo.findByCategoryId(categoryId,
+                        PageRequest.of(page, Math.min(size, maxPageSize), Sort.by(Sort.Direction.DESC, "id")))
+                .map(entityDtoMapper::mapProductToDtoBasic);
+
+        return Response.builder()
+                .status(200)
+                .data(products.getContent())
+                .totalPage(products.getTotalPages())
+                .totalElement(products.getTotalElements())
+                .build();
+    }
+
     /**
      * Deletes a category by its ID.
      *
@@ -131,15 +176,23 @@ public class CategoryServiceImpl implements CategoryService {
      * @return Response indicating success or failure.
      */
     @Override
+    @Transactional
     public Response deleteCategory(Long categoryId) {
         Category category = categoryRepo.findById(categoryId)
                 .orElseThrow(() -> new NotFoundException("Category Not Found"));
 
         categoryRepo.delete(category);
+        // Products of the category are removed with it, so no cached catalog entry can be trusted.
+        catalogCache.invalidateAll();
+        productSearchIndex.removeCategory(categoryId);
 
         return Response.builder()
                 .status(200)
                 .message("Category deleted successfully")
                 .build();
     }
+
+    private CatalogCache.CategorySnapshot categorySnapshot() {
+        return catalogCache.getCategories(categoryRepo::findCategorySummaries);
+    }
 }
@@ -0,0 +1,130 @@
+package com.ridoh.Order_Management.service.impl;
+
+import com.ridoh.Order_Management.entity.EmailOutbox;
+import com.ridoh.Order_Management.enums.EmailStatus;
+import com.ridoh.Order_Management.repository.EmailOutboxRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background dispatcher that delivers emails queued in the outbox.
+ * <p>
+ * Each run claims a bounded batch of due emails, sends them over one mail server connection
+ * and records the outcome per message. Failed emails are retried with exponential backoff
+ * until {@code email.outbox.max-attempts} is reached.
+ * </p>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepo emailOutboxRepo;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.backoff-seconds:30}")
+    private long backoffSeconds;
+
+    @Value("${email.outbox.claim-timeout-minutes:10}")
+    private long claimTimeoutMinutes;
+
+    /**
+     * Claims and sends the next batch of due emails.
+     *
+     * @return the number of emails processed in this run
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:2000}")
+    public int dispatchPendingEmails() {
+        List<EmailOutbox> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, String> failures = emailService.sendBatch(batch);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (EmailOutbox email : batch) {
+            String error = failures.get(email.getId());
+            if (error == null) {
+                email.setStatus(EmailStatus.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+            } else if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(EmailStatus.FAILED);
+                email.setLastError(truncate(error));
+                log.error("Giving up on email {} to {} after {} attempts: {}", email.getId(), email.getRecipient(), email.getAttempts(), error);
+            } else {
+                email.setStatus(EmailStatus.PENDING);
+                email.setLastError(truncate(error));
+                email.setNextAttemptAt(now.plusSeconds(backoffFor(email.getAttempts())));
+                log.warn("Failed to send email {} (attempt {}), retrying later: {}", email.getId(), email.getAttempts(), error);
+            }
+        }
+        emailOutboxRepo.saveAll(batch);
+
+        log.info("Email outbox dispatched {} emails, {} failed", batch.size(), failures.size());
+        return batch.size();
+    }
+
+    /**
+     * Puts emails that were claimed but never completed (for example because the
+     * application stopped mid-send) back into the queue.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.recovery-interval-ms:300000}")
+    public void releaseAbandonedEmails() {
+        Integer released = transactionTemplate.execute(status ->
+                emailOutboxRepo.releaseAbandoned(LocalDateTime.now().minusMinutes(claimTimeoutMinutes)));
+        if (released != null && released > 0) {
+            log.warn("Released {} abandoned outbox emails", released);
+        }
+    }
+
+    /**
+     * Locks the next due emails and marks them as SENDING in a short transaction,
+     * so the row locks are not held while talking to the mail server.
+     */
+    private List<EmailOutbox> claimBatch() {
+        List<EmailOutbox> batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> due = emailOutboxRepo.findDueForDispatch(EmailStatus.PENDING, now, PageRequest.of(0, batchSize));
+            for (EmailOutbox email : due) {
+                email.setStatus(EmailStatus.SENDING);
+                email.setAttempts(email.getAttempts() + 1);
+                email.setLastAttemptAt(now);
+            }
+            return emailOutboxRepo.saveAll(due);
+        });
+        return batch != null ? batch : List.of();
+    }
+
+    /**
+     * Exponential backoff: backoffSeconds, 2x, 4x, ... capped at one day.
+     */
+    private long backoffFor(int attempts) {
+        long multiplier = 1L << Math.min(attempts - 1, 16);
+        return Math.min(backoffSeconds * multiplier, 86_400L);
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
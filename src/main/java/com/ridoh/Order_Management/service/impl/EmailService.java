@@ -1,6 +1,10 @@
 package com.ridoh.Order_Management.service.impl;
 
+import com.ridoh.Order_Management.entity.EmailOutbox;
+import com.ridoh.Order_Management.repository.EmailOutboxRepo;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
@@ -8,6 +12,11 @@ import org.springframework.stereotype.Service;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Service class responsible for sending emails.
  */
@@ -15,6 +24,7 @@ import jakarta.mail.internet.MimeMessage;
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final EmailOutboxRepo emailOutboxRepo;
 
     /**
      * The email address used as the sender.
@@ -26,10 +36,12 @@ public class EmailService {
     /**
      * Constructs an EmailService instance with a JavaMailSender.
      *
-     * @param mailSender the JavaMailSender instance for sending emails
+     * @param mailSender      the JavaMailSender instance for sending emails
+     * @param emailOutboxRepo the repository used to queue emails for asynchronous delivery
      */
-    public EmailService(JavaMailSender mailSender) {
+    public EmailService(JavaMailSender mailSender, EmailOutboxRepo emailOutboxRepo) {
         this.mailSender = mailSender;
+        this.emailOutboxRepo = emailOutboxRepo;
     }
 
     /**
@@ -41,6 +53,70 @@ public class EmailService {
      * @throws MessagingException if an error occurs while sending the email
      */
     public void sendEmail(String to, String subject, String body) throws MessagingException {
+        mailSender.send(createMessage(to, subject, body));
+    }
+
+    /**
+     * Queues an email in the outbox instead of sending it on the calling thread.
+     * The row joins the caller's transaction, so the email is only sent if that transaction commits.
+     *
+     * @param to      the recipient's email address
+     * @param subject the subject of the email
+     * @param body    the body content of the email (supports HTML)
+     * @return the persisted outbox entry
+     */
+    public EmailOutbox enqueueEmail(String to, String subject, String body) {
+        EmailOutbox email = new EmailOutbox();
+        email.setRecipient(to);
+        email.setSubject(subject);
+        email.setBody(body);
+        return emailOutboxRepo.save(email);
+    }
+
+    /**
+     * Sends a batch of outbox emails over a single connection to the mail server.
+     *
+     * @param emails the outbox entries to send
+     * @return the error message for every email that could not be sent, keyed by outbox id
+     */
+    public Map<Long, String> sendBatch(List<EmailOutbox> emails) {
+        Map<Long, String> failures = new HashMap<>();
+        Map<MimeMessage, EmailOutbox> messages = new IdentityHashMap<>();
+
+        for (EmailOutbox email : emails) {
+            try {
+                messages.put(createMessage(email.getRecipient(), email.getSubject(), email.getBody()), email);
+            } catch (MessagingException e) {
+                failures.put(email.getId(), e.getMessage());
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(email -> failures.put(email.getId(), e.getMessage()));
+            }
+            e.getFailedMessages().forEach((message, cause) -> {
+                EmailOutbox email = messages.get(message);
+                if (email != null) {
+                    failures.put(email.getId(), cause.getMessage());
+                }
+            });
+        } catch (MailException e) {
+            // Connection or authentication problems fail the whole batch
+            messages.values().forEach(email -> failures.put(email.getId(), e.getMessage()));
+        }
+        return failures;
+    }
+
+    /**
+     * Builds a MIME message with HTML content from the configured sender address.
+     */
+    private MimeMessage createMessage(String to, String subject, String body) throws MessagingException {
         MimeMessage message = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true);
 
@@ -48,7 +124,6 @@ public class EmailService {
         helper.setTo(to);
         helper.setSubject(subject);
         helper.setText(body, true); // 'true' enables HTML content
-
-        mailSender.send(message);
+        return message;
     }
 }
@@ -0,0 +1,288 @@
+package com.ridoh.Order_Management.service.impl;
+
+import com.ridoh.Order_Management.entity.InventoryReservation;
+import com.ridoh.Order_Management.entity.OrderItem;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.enums.OrderStatus;
+import com.ridoh.Order_Management.enums.ReservationStatus;
+import com.ridoh.Order_Management.exception.OutOfStockException;
+import com.ridoh.Order_Management.repository.InventoryReservationRepo;
+import com.ridoh.Order_Management.repository.OrderItemRepo;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.service.OrderStatusEventBus;
+import com.ridoh.Order_Management.service.OrderStatusEventBus.StatusChange;
+import com.ridoh.Order_Management.service.ShardedStockCounter;
+import com.ridoh.Order_Management.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reserves, releases and expires product stock for orders.
+ * <p>
+ * Stock is taken before the order transaction starts: an in-memory {@link ShardedStockCounter} per
+ * product rejects sold-out requests without touching the database, and each remaining request takes
+ * its units with one conditional {@code UPDATE ... WHERE stock >= ?} that commits on its own. No
+ * product row lock is therefore held while the order itself is written. If writing the order fails,
+ * the caller hands the held stock back with {@link #release(Map)}.
+ * </p>
+ * <p>
+ * Each order item with tracked stock gets an {@link InventoryReservation}. Confirming the item
+ * commits the reservation, cancelling it returns the stock, and reservations still unconfirmed
+ * after {@code inventory.reservation.ttl-minutes} are expired: the stock is returned and the
+ * pending order item is cancelled. Products whose stock is null are not tracked.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryService {
+
+    private final ProductRepo productRepo;
+    private final InventoryReservationRepo inventoryReservationRepo;
+    private final OrderItemRepo orderItemRepo;
+    private final OrderHistoryService orderHistoryService;
+    private final OrderStatusEventBus orderStatusEventBus;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, ShardedStockCounter> counters = new ConcurrentHashMap<>();
+    private final AtomicLong counterResets = new AtomicLong();
+
+    @Value("${inventory.reservation.ttl-minutes:30}")
+    private long reservationTtlMinutes;
+
+    @Value("${inventory.reservation.expiry-batch-size:100}")
+    private int expiryBatchSize;
+
+    @Value("${inventory.counter.shards:8}")
+    private int counterShards;
+
+    @Value("${inventory.counter.refresh-seconds:5}")
+    private long counterRefreshSeconds;
+
+    /**
+     * Takes stock for every tracked product of an order. Either all units are taken or none.
+     * Must be called outside of a transaction so that each decrement commits immediately.
+     *
+     * @param products   the ordered products, freshly loaded, by id
+     * @param quantities the total quantity ordered per product id
+     * @return the quantities taken per product id, to be recorded or released by the caller
+     * @throws OutOfStockException if a product does not have enough stock
+     */
+    public Map<Long, Integer> reserve(Map<Long, Product> products, Map<Long, Integer> quantities) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Stock must be reserved outside of a transaction");
+        }
+
+        Map<Long, Integer> held = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<Long, Integer> line : new TreeMap<>(quantities).entrySet()) {
+                Product product = products.get(line.getKey());
+                if (product.getStock() == null) {
+                    continue;
+                }
+                if (!take(product, line.getValue())) {
+                    throw new OutOfStockException("Insufficient stock for " + product.getName());
+                }
+                held.put(product.getId(), line.getValue());
+            }
+        } catch (RuntimeException e) {
+            release(held);
+            throw e;
+        }
+        return held;
+    }
+
+    /**
+     * Returns stock taken by {@link #reserve} for an order that was not saved.
+     *
+     * @param held the quantities taken per product id
+     */
+    public void release(Map<Long, Integer> held) {
+        held.forEach(this::returnStock);
+    }
+
+    /**
+     * Records a reservation for each order item whose stock was taken. Runs in the order's transaction,
+     * after the items have been assigned ids.
+     *
+     * @param orderItems the saved order items
+     * @param held       the quantities taken per product id
+     */
+    public void recordReservations(List<OrderItem> orderItems, Map<Long, Integer> held) {
+        if (held.isEmpty()) {
+            return;
+        }
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(reservationTtlMinutes);
+        List<InventoryReservation> reservations = new ArrayList<>();
+        for (OrderItem orderItem : orderItems) {
+            if (held.containsKey(orderItem.getProduct().getId())) {
+                InventoryReservation reservation = new InventoryReservation();
+                reservation.setProductId(orderItem.getProduct().getId());
+                reservation.setOrderItemId(orderItem.getId());
+                reservation.setQuantity(orderItem.getQuantity());
+                reservation.setExpiresAt(expiresAt);
+                reservations.add(reservation);
+            }
+        }
+        inventoryReservationRepo.saveAll(reservations);
+    }
+
+    /**
+     * Applies an order item status change to its reservations: confirming commits them,
+     * cancelling returns their stock. Runs in the caller's transaction.
+     *
+     * @param orderItemId the ID of the order item
+     * @param status      the new status of the order item
+     */
+    public void onOrderItemStatusChange(Long orderItemId, OrderStatus status) {
+        onOrderItemStatusChange(List.of(orderItemId), status);
+    }
+
+    /**
+     * Applies a status change of several order items to their reservations with set-based updates.
+     * Cancelling locks the reservations that still hold stock, releases them with one update and
+     * adds the stock back with one update per product.
+     *
+     * @param orderItemIds the IDs of the order items
+     * @param status       the new status of the order items
+     */
+    public void onOrderItemStatusChange(Collection<Long> orderItemIds, OrderStatus status) {
+        if (status == OrderStatus.CONFIRMED) {
+            inventoryReservationRepo.transitionByOrderItems(orderItemIds, EnumSet.of(ReservationStatus.RESERVED),
+                    ReservationStatus.COMMITTED);
+        } else if (status == OrderStatus.CANCELLED) {
+            EnumSet<ReservationStatus> holdingStock = EnumSet.of(ReservationStatus.RESERVED, ReservationStatus.COMMITTED);
+            List<InventoryReservation> reservations = inventoryReservationRepo.findByOrderItemsForUpdate(orderItemIds, holdingStock);
+            if (reservations.isEmpty()) {
+                return;
+            }
+            // the rows stay locked until commit, so the update releases exactly the reservations read here
+            inventoryReservationRepo.transitionByOrderItems(orderItemIds, holdingStock, ReservationStatus.RELEASED);
+            Map<Long, Integer> returned = new TreeMap<>();
+            for (InventoryReservation reservation : reservations) {
+                returned.merge(reservation.getProductId(), reservation.getQuantity(), Integer::sum);
+            }
+            returned.forEach(this::returnStock);
+        }
+    }
+
+    /**
+     * Drops the in-memory counter of a product after its stock was set directly, so the next order
+     * reloads it.
+     *
+     * @param productId the ID of the product
+     */
+    public void resetCounter(Long productId) {
+        AfterCommit.run(() -> {
+            counterResets.incrementAndGet();
+            counters.remove(productId);
+        });
+    }
+
+    /**
+     * Expires reservations that were not confirmed in time, returning their stock and cancelling
+     * the order items that are still pending. Each reservation is handled in its own transaction.
+     *
+     * @return the number of reservations expired in this run
+     */
+    @Scheduled(fixedDelayString = "${inventory.reservation.expiry-interval-ms:60000}")
+    public int expireReservations() {
+        int expired = 0;
+        List<InventoryReservation> batch;
+        do {
+            batch = inventoryReservationRepo.findExpired(ReservationStatus.RESERVED, LocalDateTime.now(),
+                    PageRequest.of(0, expiryBatchSize));
+            for (InventoryReservation reservation : batch) {
+                Boolean changed = transactionTemplate.execute(status -> expire(reservation));
+                if (Boolean.TRUE.equals(changed)) {
+                    expired++;
+                }
+            }
+        } while (batch.size() == expiryBatchSize);
+
+        if (expired > 0) {
+            log.info("Expired {} unconfirmed stock reservations", expired);
+        }
+        return expired;
+    }
+
+    private boolean expire(InventoryReservation reservation) {
+        if (inventoryReservationRepo.transition(reservation.getId(),
+                EnumSet.of(ReservationStatus.RESERVED), ReservationStatus.EXPIRED) == 0) {
+            return false;
+        }
+        returnStock(reservation.getProductId(), reservation.getQuantity());
+        Long orderItemId = reservation.getOrderItemId();
+        if (orderItemRepo.updateStatusIfCurrent(orderItemId, OrderStatus.PENDING, OrderStatus.CANCELLED) == 1) {
+            orderHistoryService.updateStatus(orderItemId, OrderStatus.CANCELLED);
+            orderStatusEventBus.publish(List.of(new StatusChange(orderItemId, orderItemRepo.findUserIdById(orderItemId),
+                    OrderStatus.PENDING, OrderStatus.CANCELLED, LocalDateTime.now())));
+        }
+        return true;
+    }
+
+    private boolean take(Product product, int quantity) {
+        ShardedStockCounter counter = counterFor(product);
+        if (!counter.tryAcquire(quantity)) {
+            return false;
+        }
+        if (productRepo.decrementStock(product.getId(), quantity) == 1) {
+            return true;
+        }
+        // The counter was ahead of the database, e.g. another instance sold the stock; reload it next time
+        counters.remove(product.getId(), counter);
+        return false;
+    }
+
+    private void returnStock(Long productId, int quantity) {
+        if (productRepo.incrementStock(productId, quantity) == 1) {
+            AfterCommit.run(() -> {
+                ShardedStockCounter counter = counters.get(productId);
+                if (counter != null) {
+                    counter.release(quantity);
+                }
+            });
+        }
+    }
+
+    private ShardedStockCounter counterFor(Product product) {
+        long refreshNanos = Duration.ofSeconds(counterRefreshSeconds).toNanos();
+        ShardedStockCounter counter = counters.get(product.getId());
+        if (counter != null && counter.ageNanos() <= refreshNanos) {
+            // lock-free fast path; compute() would serialise every buyer of the product on one map bin
+            return counter;
+        }
+        while (true) {
+            // seeded from a fresh read, not from the caller's entity, which may predate a restock;
+            // the read stays outside compute() so no JDBC call runs while holding the map bin
+            long resets = counterResets.get();
+            Integer stock = productRepo.findStockById(product.getId());
+            ShardedStockCounter seeded = new ShardedStockCounter(stock != null ? stock : 0, counterShards);
+            ShardedStockCounter current = counters.compute(product.getId(), (id, existing) ->
+                    existing == null || existing.ageNanos() > refreshNanos ? seeded : existing);
+            if (current != seeded || counterResets.get() == resets) {
+                return current;
+            }
+            // the stock was set directly after it was read; seed again from the new value
+            counters.remove(product.getId(), seeded);
+        }
+    }
+}
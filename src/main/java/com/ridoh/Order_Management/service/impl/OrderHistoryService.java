@@ -0,0 +1,123 @@
+package com.ridoh.Order_Management.service.impl;
+
+import com.ridoh.Order_Management.entity.OrderHistoryEntry;
+import com.ridoh.Order_Management.enums.OrderStatus;
+import com.ridoh.Order_Management.repository.OrderHistoryRepo;
+import com.ridoh.Order_Management.repository.OrderItemRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintains the {@link OrderHistoryEntry} read model behind a user's order history.
+ * <p>
+ * Entries are written in the same transaction as the order items they copy: placing an order
+ * inserts one entry per item and every status change is applied to the entry as well, so the
+ * history is never behind the order items it was built from.
+ * </p>
+ * <p>
+ * Order items placed before the read model existed are copied by {@link #backfill()}, which walks
+ * the order items in id batches of {@code order.history.backfill-batch-size}, each in its own short
+ * transaction. It only inserts missing entries and corrects stale statuses, so it can be stopped and
+ * re-run at any time. Set {@code order.history.backfill-on-startup=true} to run it when the
+ * application starts.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderHistoryService {
+
+    private final OrderHistoryRepo orderHistoryRepo;
+    private final OrderItemRepo orderItemRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${order.history.backfill-batch-size:1000}")
+    private int backfillBatchSize;
+
+    @Value("${order.history.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    /**
+     * Adds the items of a newly placed order to the history. Must run in the order's transaction.
+     *
+     * @param orderId the ID of the saved order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrder(Long orderId) {
+        orderHistoryRepo.insertForOrder(orderId);
+    }
+
+    /**
+     * Applies a status change of an order item to its history entry. Must run in the transaction
+     * that changes the order item.
+     *
+     * @param orderItemId the ID of the order item
+     * @param status      the new status
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void updateStatus(Long orderItemId, OrderStatus status) {
+        orderHistoryRepo.updateStatus(orderItemId, status);
+    }
+
+    /**
+     * Applies a bulk status change of order items to their history entries. Must run in the
+     * transaction that changes the order items.
+     *
+     * @param orderItemIds the IDs of the order items
+     * @param status       the new status
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void updateStatuses(Collection<Long> orderItemIds, OrderStatus status) {
+        orderHistoryRepo.updateStatuses(orderItemIds, status);
+    }
+
+    /**
+     * Copies every order item that has no history entry yet and corrects the status of entries
+     * that are out of date.
+     *
+     * @return the number of entries inserted
+     */
+    public int backfill() {
+        int inserted = 0;
+        int corrected = 0;
+        long afterId = 0;
+        List<Long> batch;
+        do {
+            batch = orderItemRepo.findIdsAfter(afterId, PageRequest.of(0, backfillBatchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            long from = afterId;
+            long upTo = batch.get(batch.size() - 1);
+            int[] counts = transactionTemplate.execute(status ->
+                    new int[]{orderHistoryRepo.insertMissing(from, upTo), orderHistoryRepo.syncStatus(from, upTo)});
+            inserted += counts[0];
+            corrected += counts[1];
+            afterId = upTo;
+        } while (batch.size() == backfillBatchSize);
+
+        log.info("Order history backfill inserted {} entries and corrected {} statuses", inserted, corrected);
+        return inserted;
+    }
+
+    /**
+     * Runs the backfill once the application has started, if enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            backfill();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.ridoh.Order_Management.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ridoh.Order_Management.dto.OrderItemRequest;
+import com.ridoh.Order_Management.dto.OrderRequest;
+import com.ridoh.Order_Management.entity.IdempotencyKey;
+import com.ridoh.Order_Management.exception.InvalidCredentialsException;
+import com.ridoh.Order_Management.exception.RequestInProgressException;
+import com.ridoh.Order_Management.repository.IdempotencyKeyRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Makes order placement idempotent for requests that carry an {@code Idempotency-Key} header.
+ * <p>
+ * Keys are scoped to the user who sends them. The first request with a key places the order and
+ * records the key in the order's transaction; retries with the same key get the result of that
+ * order instead of placing another one. Retries that arrive while the first request is still
+ * running wait for its result, for at most {@code order.idempotency.wait-timeout-ms}, so a burst
+ * of client retries places the order once and does no database work of its own.
+ * </p>
+ * <p>
+ * Recent keys are kept in memory, so most retries are answered without a query; the
+ * {@code idempotency_keys} table answers retries that reach another instance or arrive after the
+ * in-memory entry was evicted. Keys expire after {@code order.idempotency.ttl-hours} and expired
+ * rows are purged every {@code order.idempotency.purge-interval-ms}. A request that fails is not
+ * remembered, so it can be retried with the same key. Reusing a key for a different order is
+ * rejected.
+ * </p>
+ */
+@Slf4j
+@Service
+public class OrderIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepo idempotencyKeyRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, CompletableFuture<PlacedOrder>> recentKeys;
+    private final Duration ttl;
+    private final long waitTimeoutMillis;
+
+    private final Counter placed;
+    private final Counter replayed;
+    private final Counter coalesced;
+
+    /**
+     * Creates the service and registers its meters.
+     *
+     * @param idempotencyKeyRepo  the repository of persisted keys
+     * @param transactionTemplate runs key lookups on the primary database
+     * @param meterRegistry       the registry the key cache and request counters are published to
+     * @param cacheSize           the maximum number of keys kept in memory
+     * @param ttlHours            how long a key is remembered
+     * @param waitTimeoutMillis   how long a retry waits for the first request with its key
+     */
+    public OrderIdempotencyService(IdempotencyKeyRepo idempotencyKeyRepo,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${order.idempotency.cache-size:100000}") long cacheSize,
+                                   @Value("${order.idempotency.ttl-hours:24}") long ttlHours,
+                                   @Value("${order.idempotency.wait-timeout-ms:30000}") long waitTimeoutMillis) {
+        this.idempotencyKeyRepo = idempotencyKeyRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentKeys, "order.idempotency");
+
+        this.placed = requests(meterRegistry, "placed");
+        this.replayed = requests(meterRegistry, "replayed");
+        this.coalesced = requests(meterRegistry, "coalesced");
+    }
+
+    /**
+     * Places an order once per idempotency key.
+     *
+     * @param userId     the ID of the user placing the order
+     * @param key        the idempotency key sent by the client
+     * @param request    the order request
+     * @param placeOrder places the order and returns its ID; must call {@link #record} in the order's transaction
+     * @return the ID of the order placed for this key, now or by an earlier request
+     * @throws InvalidCredentialsException if the key is blank, too long or was used for a different order
+     * @throws RequestInProgressException  if the first request with the key did not finish in time
+     */
+    public Long placeOnce(Long userId, String key, OrderRequest request, Function<PendingKey, Long> placeOrder) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidCredentialsException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String id = userId + ":" + key;
+        String requestHash = fingerprint(request);
+
+        CompletableFuture<PlacedOrder> placing = new CompletableFuture<>();
+        CompletableFuture<PlacedOrder> earlier = recentKeys.asMap().putIfAbsent(id, placing);
+        if (earlier != null) {
+            (earlier.isDone() ? replayed : coalesced).increment();
+            return matching(await(earlier), requestHash);
+        }
+
+        try {
+            PlacedOrder result = findOnPrimary(id)
+                    .filter(stored -> stored.getExpiresAt().isAfter(LocalDateTime.now()))
+                    .map(PlacedOrder::of)
+                    .orElse(null);
+            if (result != null) {
+                replayed.increment();
+            } else {
+                result = place(new PendingKey(id, userId, requestHash), placeOrder);
+            }
+            placing.complete(result);
+            return matching(result, requestHash);
+        } catch (RuntimeException e) {
+            recentKeys.asMap().remove(id, placing);
+            placing.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Records the key of an order being placed. Must run in the order's transaction.
+     *
+     * @param key     the pending key handed to the order placement
+     * @param orderId the ID of the saved order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(PendingKey key, Long orderId) {
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyKeyRepo.deleteIfExpired(key.id(), now);
+        idempotencyKeyRepo.insert(key.id(), key.userId(), orderId, key.requestHash(), now, now.plus(ttl));
+    }
+
+    /**
+     * Deletes expired keys from the database.
+     */
+    @Scheduled(fixedDelayString = "${order.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        int purged = idempotencyKeyRepo.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    /**
+     * Forgets the keys held in memory, so retries are answered from the database.
+     */
+    void clearRecentKeys() {
+        recentKeys.invalidateAll();
+    }
+
+    private PlacedOrder place(PendingKey key, Function<PendingKey, Long> placeOrder) {
+        try {
+            PlacedOrder result = new PlacedOrder(placeOrder.apply(key), key.requestHash());
+            placed.increment();
+            return result;
+        } catch (DataIntegrityViolationException e) {
+            // Another instance recorded the same key first; its order stands and this one was rolled back
+            PlacedOrder result = findOnPrimary(key.id()).map(PlacedOrder::of).orElseThrow(() -> e);
+            replayed.increment();
+            return result;
+        }
+    }
+
+    /**
+     * Looks a key up in a read-write transaction, so it is read from the primary database even when
+     * read-only work is routed to a replica that may not have the key yet.
+     */
+    private Optional<IdempotencyKey> findOnPrimary(String id) {
+        return transactionTemplate.execute(status -> idempotencyKeyRepo.findById(id));
+    }
+
+    private PlacedOrder await(CompletableFuture<PlacedOrder> earlier) {
+        try {
+            return earlier.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new RequestInProgressException("A request with this Idempotency-Key is still being processed");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestInProgressException("Interrupted while waiting for a request with the same Idempotency-Key");
+        }
+    }
+
+    private static Long matching(PlacedOrder result, String requestHash) {
+        if (!result.requestHash().equals(requestHash)) {
+            throw new InvalidCredentialsException("Idempotency-Key was already used for a different order");
+        }
+        return result.orderId();
+    }
+
+    /**
+     * Fingerprints the parts of a request that decide which order is placed.
+     */
+    private static String fingerprint(OrderRequest request) {
+        StringBuilder canonical = new StringBuilder();
+        for (OrderItemRequest item : request.getItems()) {
+            canonical.append(item.getProductId()).append('x').append(item.getQuantity()).append(';');
+        }
+        if (request.getTotalPrice() != null) {
+            canonical.append(request.getTotalPrice().stripTrailingZeros().toPlainString());
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("order.idempotency.requests")
+                .description("Order requests with an idempotency key, by how they were answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A key whose order is being placed.
+     *
+     * @param id          the scoped key, {@code userId:key}
+     * @param userId      the ID of the user
+     * @param requestHash the fingerprint of the order request
+     */
+    public record PendingKey(String id, Long userId, String requestHash) {
+    }
+
+    /**
+     * The order placed for a key.
+     */
+    private record PlacedOrder(Long orderId, String requestHash) {
+
+        static PlacedOrder of(IdempotencyKey key) {
+            return new PlacedOrder(key.getOrderId(), key.getRequestHash());
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.ridoh.Order_Management.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.ridoh.Order_Management.dto.OrderItemDto;
+import com.ridoh.Order_Management.dto.OrderItemRequest;
+import com.ridoh.Order_Management.dto.OrderItemStatusResult;
 import com.ridoh.Order_Management.dto.OrderRequest;
 import com.ridoh.Order_Management.dto.Response;
 import com.ridoh.Order_Management.entity.Order;
@@ -8,26 +12,52 @@ import com.ridoh.Order_Management.entity.OrderItem;
 import com.ridoh.Order_Management.entity.Product;
 import com.ridoh.Order_Management.entity.User;
 import com.ridoh.Order_Management.enums.OrderStatus;
+import com.ridoh.Order_Management.enums.UserRole;
+import com.ridoh.Order_Management.exception.InvalidCredentialsException;
+import com.ridoh.Order_Management.exception.InvalidStatusTransitionException;
 import com.ridoh.Order_Management.exception.NotFoundException;
-import com.ridoh.Order_Management.mapper.EntityDtoMapper;
 import com.ridoh.Order_Management.repository.OrderItemRepo;
 import com.ridoh.Order_Management.repository.OrderRepo;
 import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.repository.UserRepo;
+import com.ridoh.Order_Management.security.AuthUser;
+import com.ridoh.Order_Management.service.OrderStatusEventBus;
+import com.ridoh.Order_Management.service.OrderStatusEventBus.StatusChange;
 import com.ridoh.Order_Management.service.Interface.OrderItemService;
 import com.ridoh.Order_Management.service.Interface.UserService;
+import com.ridoh.Order_Management.service.impl.OrderIdempotencyService.PendingKey;
 import com.ridoh.Order_Management.specification.OrderItemSpecification;
-import jakarta.mail.MessagingException;
+import com.ridoh.Order_Management.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the {@link OrderItemService} interface.
@@ -41,26 +71,106 @@ public class OrderItemServiceImpl implements OrderItemService {
     private final OrderRepo orderRepo;
     private final OrderItemRepo orderItemRepo;
     private final ProductRepo productRepo;
+    private final UserRepo userRepo;
     private final UserService userService;
-    private final EntityDtoMapper entityDtoMapper;
     private final EmailService emailService;
+    private final InventoryService inventoryService;
+    private final OrderHistoryService orderHistoryService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderStatusEventBus orderStatusEventBus;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Maximum number of IDs bound into one {@code IN} list by bulk status updates.
+     */
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    @Value("${order.export.fetch-size:500}")
+    private int exportFetchSize;
+
+    @Value("${order.status.bulk-max-ids:10000}")
+    private int bulkMaxIds;
+
+    @Value("${order.filter.max-page-size:1000}")
+    private int maxFilterPageSize;
 
     /**
      * Places a new order based on the given {@link OrderRequest}.
-     * Validates products, calculates total price, and persists the order.
-     * Sends a confirmation email to the user upon successful placement.
+     * Loads all requested products in one query and validates them in memory. Tracked stock is then
+     * taken through the {@link InventoryService} before the order transaction starts, so no product
+     * row stays locked while the order is written; if writing the order fails the stock is returned.
+     * The order and its items are persisted in JDBC batches, and a confirmation email is queued in the
+     * outbox within the same transaction.
      *
      * @param orderRequest The order request containing items to be purchased.
      * @return A {@link Response} indicating the result of the operation.
      */
     @Override
     public Response placeOrder(OrderRequest orderRequest) {
-        User user = userService.getLoginUser();
+        return placeOrder(orderRequest, null);
+    }
+
+    /**
+     * Places a new order once per idempotency key, see {@link OrderIdempotencyService}.
+     * Without a key every call places a new order, as {@link #placeOrder(OrderRequest)} does.
+     *
+     * @param orderRequest   The order request containing items to be purchased.
+     * @param idempotencyKey The client's idempotency key, or null.
+     * @return A {@link Response} indicating the result of the operation.
+     */
+    @Override
+    public Response placeOrder(OrderRequest orderRequest, String idempotencyKey) {
+        // The principal already carries the user's id and name, so only a reference is needed for the FK
+        AuthUser principal = userService.getLoginPrincipal();
+
+        if (idempotencyKey == null) {
+            placeNewOrder(principal, orderRequest, null);
+        } else {
+            orderIdempotencyService.placeOnce(principal.getId(), idempotencyKey, orderRequest,
+                    pendingKey -> placeNewOrder(principal, orderRequest, pendingKey));
+        }
+
+        return Response.builder()
+                .status(200)
+                .message("Order was successfully placed")
+                .build();
+    }
+
+    private Long placeNewOrder(AuthUser principal, OrderRequest orderRequest, PendingKey idempotencyKey) {
+        // Load every requested product with a single IN query
+        Set<Long> productIds = orderRequest.getItems().stream()
+                .map(orderItemRequest -> (long) orderItemRequest.getProductId())
+                .collect(Collectors.toSet());
+        // Read in a read-write transaction so prices come from the primary, never from a lagging replica
+        Map<Long, Product> products = transactionTemplate.execute(status -> productRepo.findAllById(productIds)).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (OrderItemRequest orderItemRequest : orderRequest.getItems()) {
+            long productId = orderItemRequest.getProductId();
+            if (!products.containsKey(productId)) {
+                throw new NotFoundException("Product Not Found");
+            }
+            quantities.merge(productId, orderItemRequest.getQuantity(), Integer::sum);
+        }
+
+        Map<Long, Integer> heldStock = inventoryService.reserve(products, quantities);
+        try {
+            return transactionTemplate.execute(status -> saveOrder(principal, orderRequest, products, heldStock, idempotencyKey));
+        } catch (RuntimeException e) {
+            inventoryService.release(heldStock);
+            throw e;
+        }
+    }
+
+    private Long saveOrder(AuthUser principal, OrderRequest orderRequest, Map<Long, Product> products, Map<Long, Integer> heldStock,
+                           PendingKey idempotencyKey) {
+        User user = userRepo.getReferenceById(principal.getId());
 
         // Map order request items to order entities
         List<OrderItem> orderItems = orderRequest.getItems().stream().map(orderItemRequest -> {
-            Product product = productRepo.findById((long) orderItemRequest.getProductId())
-                    .orElseThrow(() -> new NotFoundException("Product Not Found"));
+            Product product = products.get((long) orderItemRequest.getProductId());
 
             OrderItem orderItem = new OrderItem();
             orderItem.setProduct(product);
@@ -84,52 +194,78 @@ public class OrderItemServiceImpl implements OrderItemService {
         // Set the order reference in each order item
         orderItems.forEach(orderItem -> orderItem.setOrder(order));
 
-        // Send order confirmation email
-        try {
-            String subject = "Order Confirmation - #" + order.getId();
-            StringBuilder body = new StringBuilder();
-            body.append("<h2>Hi ").append(user.getName()).append(",</h2>");
-            body.append("<p>Your order <b>#").append(order.getId()).append("</b> has been successfully placed.</p>");
-            body.append("<p><strong>Order Summary:</strong></p><ul>");
-
-            for (OrderItem item : orderItems) {
-                body.append("<li>").append(item.getProduct().getName())
-                        .append(" - ").append(item.getQuantity())
-                        .append(" x ").append(item.getPrice()).append("</li>");
-            }
+        orderRepo.save(order);
+        inventoryService.recordReservations(orderItems, heldStock);
+        orderHistoryService.recordOrder(order.getId());
+        if (idempotencyKey != null) {
+            orderIdempotencyService.record(idempotencyKey, order.getId());
+        }
 
-            body.append("</ul>");
-            body.append("<p>Total Price: <b>").append(totalPrice).append("</b></p>");
-            body.append("<p>Thank you for shopping with us!</p>");
+        // Queue the confirmation email; it is committed together with the order and sent in the background
+        emailService.enqueueEmail(principal.getEmail(), "Order Confirmation - #" + order.getId(),
+                buildOrderConfirmationBody(principal.getName(), order, orderItems, totalPrice));
+        return order.getId();
+    }
 
-            emailService.sendEmail(user.getEmail(), subject, body.toString());
-        } catch (MessagingException e) {
-            log.error("Failed to send order confirmation email", e);
-        }
+    /**
+     * Builds the HTML body of the order confirmation email.
+     *
+     * @param customerName The name of the user who placed the order.
+     * @param order        The persisted order.
+     * @param orderItems   The items of the order.
+     * @param totalPrice   The total price of the order.
+     * @return The HTML email body.
+     */
+    private String buildOrderConfirmationBody(String customerName, Order order, List<OrderItem> orderItems, BigDecimal totalPrice) {
+        StringBuilder body = new StringBuilder();
+        body.append("<h2>Hi ").append(customerName).append(",</h2>");
+        body.append("<p>Your order <b>#").append(order.getId()).append("</b> has been successfully placed.</p>");
+        body.append("<p><strong>Order Summary:</strong></p><ul>");
 
-        orderRepo.save(order);
+        for (OrderItem item : orderItems) {
+            body.append("<li>").append(item.getProduct().getName())
+                    .append(" - ").append(item.getQuantity())
+                    .append(" x ").append(item.getPrice()).append("</li>");
+        }
 
-        return Response.builder()
-                .status(200)
-                .message("Order was successfully placed")
-                .build();
+        body.append("</ul>");
+        body.append("<p>Total Price: <b>").append(totalPrice).append("</b></p>");
+        body.append("<p>Thank you for shopping with us!</p>");
+        return body.toString();
     }
 
     /**
      * Updates the status of an existing order item.
+     * The change must be allowed by the {@link OrderStatus} transition table; asking for the status
+     * the item already has is a no-op. Confirming the item commits its stock reservation; cancelling
+     * it returns the reserved stock.
      *
      * @param orderItemId The ID of the order item to be updated.
      * @param status      The new status of the order item.
      * @return A {@link Response} indicating the result of the operation.
-     * @throws NotFoundException if the order item does not exist.
+     * @throws NotFoundException                if the order item does not exist.
+     * @throws InvalidStatusTransitionException if the item cannot move from its current status to the new one.
      */
     @Override
+    @Transactional
     public Response updateOrderItemStatus(Long orderItemId, String status) {
         OrderItem orderItem = orderItemRepo.findById(orderItemId)
                 .orElseThrow(() -> new NotFoundException("Order Item not found"));
 
-        orderItem.setStatus(OrderStatus.valueOf(status.toUpperCase()));
-        orderItemRepo.save(orderItem);
+        OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
+        if (orderItem.getStatus() != orderStatus) {
+            if (!orderItem.getStatus().canTransitionTo(orderStatus)) {
+                throw new InvalidStatusTransitionException(
+                        "Order item cannot move from " + orderItem.getStatus() + " to " + orderStatus);
+            }
+            OrderStatus previousStatus = orderItem.getStatus();
+            orderItem.setStatus(orderStatus);
+            orderItemRepo.save(orderItem);
+            inventoryService.onOrderItemStatusChange(orderItemId, orderStatus);
+            orderHistoryService.updateStatus(orderItemId, orderStatus);
+            orderStatusEventBus.publish(List.of(new StatusChange(orderItemId, orderItem.getUser().getId(),
+                    previousStatus, orderStatus, LocalDateTime.now())));
+        }
 
         return Response.builder()
                 .status(200)
@@ -137,8 +273,83 @@ public class OrderItemServiceImpl implements OrderItemService {
                 .build();
     }
 
+    /**
+     * Moves many order items to the same status in one transaction.
+     * <p>
+     * The current statuses are read and row-locked with one query per chunk of
+     * {@value #BULK_CHUNK_SIZE} IDs, every item is checked against the {@link OrderStatus}
+     * transition table, and the allowed items are changed with one {@code UPDATE ... WHERE id IN}
+     * per previous status. Reservations and the order history follow with set-based updates as well.
+     * Items that do not exist or may not make the transition are reported and left untouched.
+     * </p>
+     *
+     * @param orderItemIds The IDs of the order items, at most {@code order.status.bulk-max-ids}.
+     * @param status       The new status of the order items.
+     * @return A {@link Response} with one {@link OrderItemStatusResult} per distinct ID, in request order.
+     * @throws InvalidCredentialsException if no IDs or too many IDs are given, or the status is unknown.
+     */
+    @Override
+    @Transactional
+    public Response updateOrderItemStatuses(List<Long> orderItemIds, String status) {
+        if (orderItemIds == null || orderItemIds.isEmpty()) {
+            throw new InvalidCredentialsException("At least one order item id is required");
+        }
+        Set<Long> ids = new LinkedHashSet<>(orderItemIds);
+        if (ids.size() > bulkMaxIds) {
+            throw new InvalidCredentialsException("At most " + bulkMaxIds + " order items can be updated at once");
+        }
+        OrderStatus target = parseStatus(status);
+
+        Map<Long, OrderItemRepo.StatusView> current = new HashMap<>();
+        for (List<Long> chunk : chunks(ids)) {
+            orderItemRepo.findStatusesForUpdate(chunk).forEach(row -> current.put(row.getId(), row));
+        }
+        LocalDateTime changedAt = LocalDateTime.now();
+        List<StatusChange> changes = new ArrayList<>();
+
+        Map<Long, OrderItemStatusResult> results = new LinkedHashMap<>();
+        Map<OrderStatus, List<Long>> bySource = new EnumMap<>(OrderStatus.class);
+        for (Long id : ids) {
+            OrderItemRepo.StatusView row = current.get(id);
+            OrderStatus from = row != null ? row.getStatus() : null;
+            OrderItemStatusResult.Outcome outcome;
+            if (from == null) {
+                outcome = OrderItemStatusResult.Outcome.NOT_FOUND;
+            } else if (from == target) {
+                outcome = OrderItemStatusResult.Outcome.UNCHANGED;
+            } else if (!from.canTransitionTo(target)) {
+                outcome = OrderItemStatusResult.Outcome.INVALID_TRANSITION;
+            } else {
+                outcome = OrderItemStatusResult.Outcome.UPDATED;
+                bySource.computeIfAbsent(from, key -> new ArrayList<>()).add(id);
+                changes.add(new StatusChange(id, row.getUserId(), from, target, changedAt));
+            }
+            results.put(id, new OrderItemStatusResult(id, from != null ? from.name() : null, outcome));
+        }
+
+        List<Long> updated = new ArrayList<>();
+        bySource.forEach((from, sourceIds) -> {
+            for (List<Long> chunk : chunks(sourceIds)) {
+                orderItemRepo.updateStatuses(chunk, from, target);
+                updated.addAll(chunk);
+            }
+        });
+        for (List<Long> chunk : chunks(updated)) {
+            inventoryService.onOrderItemStatusChange(chunk, target);
+            orderHistoryService.updateStatuses(chunk, target);
+        }
+        orderStatusEventBus.publish(changes);
+
+        return Response.builder()
+                .status(200)
+                .message(updated.size() + " of " + ids.size() + " order items updated")
+                .data(List.copyOf(results.values()))
+                .build();
+    }
+
     /**
      * Filters order items based on status, date range, and item ID.
+     * Items are read as joined DTO projections, so the cost per page is constant.
      *
      * @param status    The status of the order items to filter.
      * @param startDate The start date for filtering order items.
@@ -149,20 +360,19 @@ public class OrderItemServiceImpl implements OrderItemService {
      * @throws NotFoundException if no matching order items are found.
      */
     @Override
+    @Transactional(readOnly = true)
     public Response filterOrderItems(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate, Long itemId, Pageable pageable) {
-        Specification<OrderItem> spec = Specification.where(OrderItemSpecification.hasStatus(status))
-                .and(OrderItemSpecification.createdBetween(startDate, endDate))
-                .and(OrderItemSpecification.hasItemId(itemId));
+        Specification<OrderItem> spec = buildFilterSpecification(status, startDate, endDate, itemId);
 
-        Page<OrderItem> orderItemPage = orderItemRepo.findAll(spec, pageable);
+        // Single joined projection query; the count only runs when more than one page exists
+        List<OrderItemDto> content = orderItemRepo.findOrderItemDtos(spec, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        Page<OrderItemDto> orderItemPage = PageableExecutionUtils.getPage(content, pageable, () -> orderItemRepo.count(spec));
 
         if (orderItemPage.isEmpty()) {
             throw new NotFoundException("No Order Found");
         }
 
-        List<OrderItemDto> orderItemDtos = orderItemPage.getContent().stream()
-                .map(entityDtoMapper::mapOrderItemToDtoPlusProductAndUser)
-                .collect(Collectors.toList());
+        List<OrderItemDto> orderItemDtos = orderItemPage.getContent();
 
         return Response.builder()
                 .status(200)
@@ -171,4 +381,136 @@ public class OrderItemServiceImpl implements OrderItemService {
                 .totalElement(orderItemPage.getTotalElements())
                 .build();
     }
+
+    /**
+     * Filters order items with keyset pagination on id descending.
+     * Fetches one extra row to detect whether another page exists, so no count query is issued.
+     *
+     * @param status    The status of the order items to filter.
+     * @param startDate The start date for filtering order items.
+     * @param endDate   The end date for filtering order items.
+     * @param itemId    The specific item ID to filter (optional).
+     * @param cursor    The cursor of the previous page, or null for the first page.
+     * @param size      The maximum number of order items to return, capped at {@code order.filter.max-page-size}.
+     * @return A {@link Response} containing the order items and the next cursor.
+     * @throws NotFoundException if no matching order items are found.
+     * @throws InvalidCredentialsException if the size is below 1 or the cursor is malformed.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Response filterOrderItemsByCursor(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate, Long itemId, String cursor, int size) {
+        if (size < 1) {
+            throw new InvalidCredentialsException("Page size must be at least 1");
+        }
+        size = Math.min(size, maxFilterPageSize);
+
+        Specification<OrderItem> spec = buildFilterSpecification(status, startDate, endDate, itemId)
+                .and(OrderItemSpecification.idLessThan(CursorCodec.decode(cursor)));
+
+        List<OrderItemDto> rows = orderItemRepo.findOrderItemDtos(spec, Sort.by(Sort.Direction.DESC, "id"), 0, size + 1);
+
+        if (rows.isEmpty()) {
+            throw new NotFoundException("No Order Found");
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<OrderItemDto> orderItemDtos = hasNext ? rows.subList(0, size) : rows;
+
+        return Response.builder()
+                .status(200)
+                .data(orderItemDtos)
+                .nextCursor(hasNext ? CursorCodec.encode(orderItemDtos.get(orderItemDtos.size() - 1).getId()) : null)
+                .build();
+    }
+
+    /**
+     * Streams the filtered order items to the output stream as NDJSON (one JSON object per line).
+     * Rows are read forward-only with a tuned fetch size inside a read-only transaction,
+     * so heap usage stays constant regardless of how many rows match.
+     * On MySQL the JDBC URL needs {@code useCursorFetch=true} for the fetch size to take effect.
+     *
+     * @param status       The status of the order items to export.
+     * @param startDate    The start date for filtering order items.
+     * @param endDate      The end date for filtering order items.
+     * @param itemId       The specific item ID to export (optional).
+     * @param outputStream The stream the rows are written to.
+     * @throws IOException if writing to the output stream fails.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportOrderItems(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate, Long itemId, OutputStream outputStream) throws IOException {
+        Specification<OrderItem> spec = buildFilterSpecification(status, startDate, endDate, itemId);
+        long exported = 0;
+
+        try (Stream<OrderItemDto> rows = orderItemRepo.streamOrderItemDtos(spec, Sort.by(Sort.Direction.DESC, "id"), exportFetchSize);
+             SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+            Iterator<OrderItemDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                exported++;
+            }
+            // Terminate the last line as well
+            writer.flush();
+            if (exported > 0) {
+                outputStream.write('\n');
+            }
+        }
+        log.info("Exported {} order items", exported);
+    }
+
+    /**
+     * Copies order items that are missing from the order history read model and corrects stale statuses.
+     *
+     * @return A {@link Response} containing the number of entries inserted.
+     */
+    @Override
+    public Response backfillOrderHistory() {
+        int inserted = orderHistoryService.backfill();
+        return Response.builder()
+                .status(200)
+                .message("Order history backfilled")
+                .data(inserted)
+                .build();
+    }
+
+    /**
+     * Opens a server-sent-event stream of order item status changes for the authenticated user.
+     * Customers receive changes to their own order items, admins receive all changes.
+     *
+     * @return The emitter the events are written to.
+     */
+    @Override
+    public SseEmitter subscribeToStatusEvents() {
+        AuthUser principal = userService.getLoginPrincipal();
+        return orderStatusEventBus.subscribe(principal.getId(), principal.getRole() == UserRole.ADMIN);
+    }
+
+    private static OrderStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            throw new InvalidCredentialsException("Status is required");
+        }
+        try {
+            return OrderStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCredentialsException("Unknown order status: " + status);
+        }
+    }
+
+    private static <T> List<List<T>> chunks(Collection<T> values) {
+        List<T> list = List.copyOf(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(list.subList(from, Math.min(from + BULK_CHUNK_SIZE, list.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Combines the optional filter criteria into a single specification.
+     */
+    private Specification<OrderItem> buildFilterSpecification(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate, Long itemId) {
+        return Specification.where(OrderItemSpecification.hasStatus(status))
+                .and(OrderItemSpecification.createdBetween(startDate, endDate))
+                .and(OrderItemSpecification.hasItemId(itemId));
+    }
 }
@@ -4,20 +4,35 @@ import com.ridoh.Order_Management.dto.ProductDto;
 import com.ridoh.Order_Management.dto.Response;
 import com.ridoh.Order_Management.entity.Category;
 import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.exception.InvalidCredentialsException;
 import com.ridoh.Order_Management.exception.NotFoundException;
 import com.ridoh.Order_Management.mapper.EntityDtoMapper;
 import com.ridoh.Order_Management.repository.CategoryRepo;
 import com.ridoh.Order_Management.repository.ProductRepo;
-import com.ridoh.Order_Management.service.AwsS3Service;
+import com.ridoh.Order_Management.service.CatalogCache;
+import com.ridoh.Order_Management.service.CatalogCache.ProductPage;
+import com.ridoh.Order_Management.service.ImageStorage;
+import com.ridoh.Order_Management.service.ImageStorage.StoredImage;
+import com.ridoh.Order_Management.service.ImageVariantPipeline;
+import com.ridoh.Order_Management.service.ProductSearchIndex;
 import com.ridoh.Order_Management.service.Interface.ProductService;
+import com.ridoh.Order_Management.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -33,7 +48,20 @@ public class ProductServiceImpl implements ProductService {
     private final ProductRepo productRepo;
     private final CategoryRepo categoryRepo;
     private final EntityDtoMapper entityDtoMapper;
-    private final AwsS3Service awsS3Service;
+    private final ImageStorage imageStorage;
+    private final ImageVariantPipeline imageVariantPipeline;
+    private final CatalogCache catalogCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final InventoryService inventoryService;
+
+    @Value("${product.search.max-results:100}")
+    private int searchMaxResults;
+
+    @Value("${product.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${product.page.cached-pages:3}")
+    private int cachedPages;
 
     /**
      * Creates a new product.
@@ -42,21 +70,30 @@ public class ProductServiceImpl implements ProductService {
      * @param name The name of the product.
      * @param description The description of the product.
      * @param price The price of the product.
+     * @param stock The units available for sale, or null to not track stock.
      * @return Response indicating success or failure.
      */
     @Override
-    public Response createProduct(Long categoryId, MultipartFile image, String name, String description, BigDecimal price) {
+    @Transactional
+    public Response createProduct(Long categoryId, MultipartFile image, String name, String description, BigDecimal price, Integer stock) {
+        if (stock != null && stock < 0) {
+            throw new InvalidCredentialsException("Stock must not be negative");
+        }
         Category category = categoryRepo.findById(categoryId).orElseThrow(() -> new NotFoundException("Category not found"));
-        String productImageUrl = awsS3Service.saveImageToS3(image);
+        StoredImage storedImage = imageStorage.saveImage(image);
 
         Product product = new Product();
         product.setCategory(category);
         product.setPrice(price);
         product.setName(name);
         product.setDescription(description);
-        product.setImageUrl(productImageUrl);
+        product.setImageUrl(storedImage.url());
+        product.setStock(stock);
 
         productRepo.save(product);
+        catalogCache.invalidateProduct(product.getId(), categoryId);
+        productSearchIndex.index(product);
+        imageVariantPipeline.submit(product, storedImage);
         return Response.builder()
                 .status(200)
                 .message("Product successfully created")
@@ -64,34 +101,58 @@ public class ProductServiceImpl implements ProductService {
     }
 
     /**
-     * Updates an existing product.
+     * Updates an existing product in one transaction. The catalog cache, search index, stock counter
+     * and image pipeline follow once it commits.
      * @param productId The ID of the product.
      * @param categoryId The ID of the new category (if updating).
      * @param image The updated product image file.
      * @param name The updated product name.
      * @param description The updated product description.
      * @param price The updated product price.
+     * @param stock The new number of units available for sale.
      * @return Response indicating success or failure.
      */
     @Override
-    public Response updateProduct(Long productId, Long categoryId, MultipartFile image, String name, String description, BigDecimal price) {
+    @Transactional
+    public Response updateProduct(Long productId, Long categoryId, MultipartFile image, String name, String description, BigDecimal price, Integer stock) {
         Product product = productRepo.findById(productId).orElseThrow(() -> new NotFoundException("Product Not Found"));
+        Long previousCategoryId = product.getCategory() != null ? product.getCategory().getId() : null;
 
         if (categoryId != null) {
             Category category = categoryRepo.findById(categoryId).orElseThrow(() -> new NotFoundException("Category not found"));
             product.setCategory(category);
         }
 
+        if (stock != null && stock < 0) {
+            throw new InvalidCredentialsException("Stock must not be negative");
+        }
+
+        StoredImage storedImage = null;
         if (image != null && !image.isEmpty()) {
-            String productImageUrl = awsS3Service.saveImageToS3(image);
-            product.setImageUrl(productImageUrl);
+            storedImage = imageStorage.saveImage(image);
+            product.setImageUrl(storedImage.url());
         }
 
         if (name != null) product.setName(name);
         if (price != null) product.setPrice(price);
         if (description != null) product.setDescription(description);
 
+        // stock and the image variants are not updatable columns, so flushing the product cannot
+        // overwrite what orders or the variant pipeline committed since it was loaded
         productRepo.save(product);
+        if (storedImage != null) {
+            // the old variants no longer match; clients fall back to imageUrl until new ones exist
+            productRepo.updateImageVariants(productId, storedImage.url(), null, null);
+        }
+        if (stock != null) {
+            productRepo.updateStock(productId, stock);
+            inventoryService.resetCounter(productId);
+        }
+        catalogCache.invalidateProduct(productId, previousCategoryId, categoryId);
+        productSearchIndex.index(product);
+        if (storedImage != null) {
+            imageVariantPipeline.submit(product, storedImage);
+        }
         return Response.builder()
                 .status(200)
                 .message("Product updated successfully")
@@ -104,9 +165,13 @@ public class ProductServiceImpl implements ProductService {
      * @return Response indicating success or failure.
      */
     @Override
+    @Transactional
     public Response deleteProduct(Long productId) {
         Product product = productRepo.findById(productId).orElseThrow(() -> new NotFoundException("Product Not Found"));
+        Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
         productRepo.delete(product);
+        catalogCache.invalidateProduct(productId, categoryId);
+        productSearchIndex.remove(productId);
 
         return Response.builder()
                 .status(200)
@@ -115,14 +180,16 @@ public class ProductServiceImpl implements ProductService {
     }
 
     /**
-     * Retrieves a product by its ID.
+     * Retrieves a product by its ID, served from the catalog cache when possible.
      * @param productId The ID of the product.
      * @return Response containing the product details.
      */
     @Override
+    @Transactional(readOnly = true)
     public Response getProductById(Long productId) {
-        Product product = productRepo.findById(productId).orElseThrow(() -> new NotFoundException("Product Not Found"));
-        ProductDto productDto = entityDtoMapper.mapProductToDtoBasic(product);
+        ProductDto productDto = catalogCache.getProduct(productId, id -> productRepo.findById(id)
+                .map(entityDtoMapper::mapProductToDtoBasic)
+                .orElseThrow(() -> new NotFoundException("Product Not Found")));
 
         return Response.builder()
                 .status(200)
@@ -131,36 +198,86 @@ public class ProductServiceImpl implements ProductService {
     }
 
     /**
-     * Retrieves all products.
-     * @return Response containing a list of products.
+     * Retrieves one page of products, newest first.
+     * The first pages are served from the catalog cache; the page size is capped so a single request
+     * never materialises more than {@code product.page.max-size} products.
+     * @param page The zero-based page number.
+     * @param size The requested page size.
+     * @return Response containing the products on the page and the paging totals.
      */
     @Override
-    public Response getAllProducts() {
-        List<ProductDto> productList = productRepo.findAll(Sort.by(Sort.Direction.DESC, "id"))
-                .stream()
-                .map(entityDtoMapper::mapProductToDtoBasic)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Response getAllProducts(int page, int size) {
+        if (page < 0) {
+            throw new InvalidCredentialsException("Page number must not be negative");
+        }
+        int pageSize = boundedPageSize(size);
+        Supplier<ProductPage> loader = () -> {
+            Page<ProductDto> products = productRepo.findAll(PageRequest.of(page, pageSize, Sort.by(Sort.Direction.DESC, "id")))
+                    .map(entityDtoMapper::mapProductToDtoBasic);
+            return new ProductPage(products.getContent(), products.getTotalPages(), products.getTotalElements(), null);
+        };
+        ProductPage productPage = page < cachedPages
+                ? catalogCache.getProductPage("offset:" + page + ":" + pageSize, loader)
+                : loader.get();
 
         return Response.builder()
                 .status(200)
-                .data(productList)
+                .data(productPage.products())
+                .totalPage(productPage.totalPages())
+                .totalElement(productPage.totalElements())
                 .build();
     }
 
     /**
-     * Retrieves products by category ID.
+     * Retrieves one page of products, newest first, using keyset pagination on the primary key.
+     * Fetches one extra row to detect whether another page exists, so no count query is issued.
+     * The first page is served from the catalog cache.
+     * @param cursor The cursor of the previous page, or null for the first page.
+     * @param size The requested page size.
+     * @return Response containing the products on the page and the next cursor.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Response getAllProductsByCursor(String cursor, int size) {
+        Long lastId = CursorCodec.decode(cursor);
+        int pageSize = boundedPageSize(size);
+        Supplier<ProductPage> loader = () -> {
+            List<Product> rows = productRepo.findByIdLessThan(lastId != null ? lastId : Long.MAX_VALUE,
+                    PageRequest.of(0, pageSize + 1, Sort.by(Sort.Direction.DESC, "id")));
+            boolean hasNext = rows.size() > pageSize;
+            List<ProductDto> products = (hasNext ? rows.subList(0, pageSize) : rows).stream()
+                    .map(entityDtoMapper::mapProductToDtoBasic)
+                    .collect(Collectors.toList());
+            String nextCursor = hasNext ? CursorCodec.encode(products.get(products.size() - 1).getId()) : null;
+            return new ProductPage(products, 0, 0, nextCursor);
+        };
+        ProductPage productPage = lastId == null
+                ? catalogCache.getProductPage("cursor:" + pageSize, loader)
+                : loader.get();
+
+        return Response.builder()
+                .status(200)
+                .data(productPage.products())
+                .nextCursor(productPage.nextCursor())
+                .build();
+    }
+
+    /**
+     * Retrieves products by category ID, served from the catalog cache when possible.
      * @param categoryId The ID of the category.
      * @return Response containing a list of products.
      */
     @Override
+    @Transactional(readOnly = true)
     public Response getProductsByCategory(Long categoryId) {
-        List<Product> products = productRepo.findByCategoryId(categoryId);
-        if (products.isEmpty()) {
+        List<ProductDto> productDtoList = catalogCache.getProductsByCategory(categoryId, id -> productRepo.findByCategoryId(id)
+                .stream()
+                .map(entityDtoMapper::mapProductToDtoBasic)
+                .collect(Collectors.toList()));
+        if (productDtoList.isEmpty()) {
             throw new NotFoundException("No Products found for this category");
         }
-        List<ProductDto> productDtoList = products.stream()
-                .map(entityDtoMapper::mapProductToDtoBasic)
-                .collect(Collectors.toList());
 
         return Response.builder()
                 .status(200)
@@ -170,23 +287,44 @@ public class ProductServiceImpl implements ProductService {
 
     /**
      * Searches for products by name or description.
+     * Words are matched by prefix through the search index and results are ranked by relevance.
      * @param searchValue The keyword to search for.
      * @return Response containing matching products.
      */
     @Override
+    @Transactional(readOnly = true)
     public Response searchProduct(String searchValue) {
-        List<Product> products = productRepo.findByNameContainingOrDescriptionContaining(searchValue, searchValue);
+        List<ProductDto> productDtoList;
+        if (productSearchIndex.isReady()) {
+            List<Long> productIds = productSearchIndex.search(searchValue, searchMaxResults);
+            productDtoList = catalogCache.getProducts(productIds, this::loadProducts);
+        } else {
+            productDtoList = productRepo.findByNameContainingOrDescriptionContaining(searchValue, searchValue)
+                    .stream()
+                    .map(entityDtoMapper::mapProductToDtoBasic)
+                    .collect(Collectors.toList());
+        }
 
-        if (products.isEmpty()) {
+        if (productDtoList.isEmpty()) {
             throw new NotFoundException("No Products Found");
         }
-        List<ProductDto> productDtoList = products.stream()
-                .map(entityDtoMapper::mapProductToDtoBasic)
-                .collect(Collectors.toList());
 
         return Response.builder()
                 .status(200)
                 .data(productDtoList)
                 .build();
     }
+
+    private int boundedPageSize(int size) {
+        if (size < 1) {
+            throw new InvalidCredentialsException("Page size must be at least 1");
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    private Map<Long, ProductDto> loadProducts(Set<? extends Long> productIds) {
+        return productRepo.findAllById(new ArrayList<>(productIds))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, entityDtoMapper::mapProductToDtoBasic));
+    }
 }
@@ -3,22 +3,30 @@ package com.ridoh.Order_Management.service.impl;
 import com.ridoh.Order_Management.dto.LoginRequest;
 import com.ridoh.Order_Management.dto.Response;
 import com.ridoh.Order_Management.dto.UserDto;
+import com.ridoh.Order_Management.entity.OrderHistoryEntry;
 import com.ridoh.Order_Management.entity.User;
 import com.ridoh.Order_Management.enums.UserRole;
 import com.ridoh.Order_Management.exception.InvalidCredentialsException;
 import com.ridoh.Order_Management.exception.NotFoundException;
 import com.ridoh.Order_Management.mapper.EntityDtoMapper;
+import com.ridoh.Order_Management.repository.OrderHistoryRepo;
 import com.ridoh.Order_Management.repository.UserRepo;
+import com.ridoh.Order_Management.security.AuthUser;
+import com.ridoh.Order_Management.security.CustomUserDetailsService;
 import com.ridoh.Order_Management.security.JwtUtils;
 import com.ridoh.Order_Management.service.Interface.UserService;
+import com.ridoh.Order_Management.util.CursorCodec;
 import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -35,6 +43,11 @@ public class UserServiceImpl implements UserService {
     private final JwtUtils jwtUtils;
     private final EntityDtoMapper entityDtoMapper;
     private final EmailService emailService;
+    private final CustomUserDetailsService customUserDetailsService;
+    private final OrderHistoryRepo orderHistoryRepo;
+
+    @Value("${order.history.max-page-size:100}")
+    private int maxHistoryPageSize;
 
     /**
      * Registers a new user with the provided details.
@@ -111,6 +124,7 @@ public class UserServiceImpl implements UserService {
      * @return Response containing the list of users.
      */
     @Override
+    @Transactional(readOnly = true)
     public Response getAllUsers() {
         List<User> users = userRepo.findAll();
         List<UserDto> userDtos = users.stream()
@@ -130,25 +144,55 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public User getLoginUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        log.info("User email is: " + email);
+        AuthUser principal = getLoginPrincipal();
+        log.debug("User email is: {}", principal.getEmail());
+
+        return userRepo.findById(principal.getId()).orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
 
-        return userRepo.findByEmail(email).orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    /**
+     * Retrieves the principal resolved by the JWT filter, without touching the database.
+     * Falls back to the (cached) user details lookup when the security context holds a plain username.
+     * @return The authenticated principal.
+     */
+    @Override
+    public AuthUser getLoginPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof AuthUser authUser) {
+            return authUser;
+        }
+        return (AuthUser) customUserDetailsService.loadUserByUsername(authentication.getName());
     }
 
     /**
-     * Retrieves user information along with order history.
-     * @return Response containing user details and order history.
+     * Retrieves user information along with one page of the order history, newest first.
+     * The history is read from the denormalized order history with a single indexed query,
+     * fetching one extra row to detect whether another page exists.
+     * @param cursor The cursor of the previous page, or null for the first page.
+     * @param size The maximum number of order items to return.
+     * @return Response containing user details, order history and the next cursor.
      */
     @Override
-    public Response getUserInfoAndOrderHistory() {
+    @Transactional(readOnly = true)
+    public Response getUserInfoAndOrderHistory(String cursor, int size) {
+        if (size < 1) {
+            throw new InvalidCredentialsException("Page size must be at least 1");
+        }
+        int pageSize = Math.min(size, maxHistoryPageSize);
+        Long beforeId = CursorCodec.decode(cursor);
+
         User user = getLoginUser();
-        UserDto userDto = entityDtoMapper.mapUserToDtoPlusAddressAndOrderHistory(user);
+        List<OrderHistoryEntry> rows = orderHistoryRepo.findByUserIdAndIdLessThanOrderByIdDesc(
+                user.getId(), beforeId != null ? beforeId : Long.MAX_VALUE, PageRequest.of(0, pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<OrderHistoryEntry> orderHistory = hasNext ? rows.subList(0, pageSize) : rows;
+        UserDto userDto = entityDtoMapper.mapUserToDtoPlusAddressAndOrderHistory(user, orderHistory);
 
         return Response.builder()
                 .status(200)
                 .data(userDto)
+                .nextCursor(hasNext ? CursorCodec.encode(orderHistory.get(orderHistory.size() - 1).getId()) : null)
                 .build();
     }
 }
@@ -54,4 +54,15 @@ public class OrderItemSpecification {
         return (root, query, criteriaBuilder) ->
                 itemId != null ? criteriaBuilder.equal(root.get("id"), itemId) : null;
     }
+
+    /**
+     * Creates a Specification that seeks past the last row of the previous page when paging by id descending.
+     *
+     * @param lastId the id of the last order item already returned
+     * @return a Specification for order items with a smaller id, or null for the first page
+     */
+    public static Specification<OrderItem> idLessThan(Long lastId) {
+        return (root, query, criteriaBuilder) ->
+                lastId != null ? criteriaBuilder.lessThan(root.get("id"), lastId) : null;
+    }
 }
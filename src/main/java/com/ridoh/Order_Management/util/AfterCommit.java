@@ -0,0 +1,35 @@
+package com.ridoh.Order_Management.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects, such as cache evictions, until the current transaction commits.
+ * <p>
+ * Running them earlier would let a concurrent reader reload the old rows between the side effect
+ * and the commit. Outside of a transaction the action runs immediately.
+ * </p>
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs the action after the surrounding transaction commits, or immediately if there is none.
+     *
+     * @param action the side effect to run
+     */
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
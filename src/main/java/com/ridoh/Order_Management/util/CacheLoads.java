@@ -0,0 +1,60 @@
+package com.ridoh.Order_Management.util;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Read-through loading for Caffeine caches whose loaders block on I/O.
+ * <p>
+ * {@code Cache.get(key, loader)} runs the loader inside {@code ConcurrentHashMap.compute}, which holds
+ * a monitor for the whole load. On Java 21 a virtual thread blocking on JDBC while holding a monitor
+ * pins its carrier thread, and enough pinned carriers stall every other virtual thread, including the
+ * ones that would return the pooled connections they are waiting for. Here the map only stores an
+ * incomplete future; the first caller runs the loader on its own thread outside of any monitor, and
+ * concurrent callers for the same key park on the future until it completes.
+ * </p>
+ */
+public final class CacheLoads {
+
+    private CacheLoads() {
+    }
+
+    /**
+     * Returns the cached value for the key, loading it on the calling thread on a miss.
+     * Failed loads are not cached; the loader's exception is rethrown to every waiting caller.
+     *
+     * @param cache  the cache
+     * @param key    the key
+     * @param loader loads the value; may block
+     * @param <K>    the key type
+     * @param <V>    the value type
+     * @return the cached or loaded value
+     */
+    public static <K, V> V get(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> pending);
+        if (future != pending) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            V value = loader.apply(key);
+            pending.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            // completing exceptionally also removes the entry, so the next caller retries the load
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.ridoh.Order_Management.util;
+
+import com.ridoh.Order_Management.exception.InvalidCredentialsException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors used by keyset (seek) pagination.
+ * <p>
+ * A cursor identifies the last row of the previous page. Clients must treat it as an opaque
+ * string and pass it back unchanged to fetch the next page.
+ * </p>
+ */
+public final class CursorCodec {
+
+    private static final String ID_PREFIX = "id:";
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Encodes the id of the last row returned into an opaque cursor.
+     *
+     * @param lastId the id of the last row on the current page
+     * @return the URL-safe cursor string
+     */
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((ID_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor back into the id of the last row of the previous page.
+     *
+     * @param cursor the cursor string, may be null or blank for the first page
+     * @return the id to seek after, or null for the first page
+     * @throws InvalidCredentialsException if the cursor is malformed
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(ID_PREFIX)) {
+                throw new IllegalArgumentException("Unknown cursor format");
+            }
+            return Long.parseLong(value.substring(ID_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCredentialsException("Invalid pagination cursor");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ridoh.Order_Management.config;
+
+import com.ridoh.Order_Management.dto.CategoryDto;
+import com.ridoh.Order_Management.service.Interface.CategoryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that unchanged catalog responses are revalidated with 304 without reading the catalog.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogConditionalGetTest {
+
+    private static final String CATEGORIES_URI = "/category/get-all";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void unchangedCatalogIsAnsweredWith304BeforeAnyCatalogQuery() throws Exception {
+        MockHttpServletResponse first = mockMvc.perform(get(CATEGORIES_URI))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"");
+        assertThat(first.getHeader(HttpHeaders.CACHE_CONTROL)).contains("must-revalidate");
+        assertThat(first.getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        MockHttpServletResponse revalidated = mockMvc.perform(get(CATEGORIES_URI).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn().getResponse();
+        assertThat(revalidated.getContentLength()).isZero();
+        // at most the catalog revision is read again, never the catalog itself
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1);
+
+        mockMvc.perform(get(CATEGORIES_URI).header(HttpHeaders.IF_MODIFIED_SINCE, first.getHeader(HttpHeaders.LAST_MODIFIED)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void catalogChangesInvalidateTheEntityTag() throws Exception {
+        String etag = mockMvc.perform(get(CATEGORIES_URI))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        CategoryDto category = new CategoryDto();
+        category.setName("Conditional " + System.nanoTime());
+        categoryService.createCategory(category);
+
+        MockHttpServletResponse changed = mockMvc.perform(get(CATEGORIES_URI).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(changed.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(changed.getContentAsString()).contains(category.getName());
+    }
+
+    @Test
+    void searchIsNotConditional() throws Exception {
+        MockHttpServletResponse search = mockMvc.perform(get("/product/search").param("searchValue", "anything"))
+                .andReturn().getResponse();
+
+        assertThat(search.getHeader(HttpHeaders.ETAG)).isNull();
+    }
+}
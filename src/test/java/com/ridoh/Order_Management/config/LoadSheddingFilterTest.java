@@ -0,0 +1,139 @@
+package com.ridoh.Order_Management.config;
+
+import com.ridoh.Order_Management.config.LoadSheddingFilter.Budget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that concurrency limits follow latency and that full budgets shed requests.
+ */
+class LoadSheddingFilterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    void limitGrowsWhileLatencyIsStableAndShrinksWhenItRises() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 2, 200);
+
+        for (int i = 0; i < 100; i++) {
+            limit.update(FAST, limit.getLimit());
+        }
+        int grown = limit.getLimit();
+        assertThat(grown).isGreaterThan(20);
+
+        for (int i = 0; i < 30; i++) {
+            limit.update(SLOW, limit.getLimit());
+        }
+        assertThat(limit.getLimit()).isLessThan(grown / 2);
+
+        for (int i = 0; i < 200; i++) {
+            limit.update(FAST, limit.getLimit());
+        }
+        assertThat(limit.getLimit()).isGreaterThan(grown / 2);
+    }
+
+    @Test
+    void limitDoesNotGrowWhileMostPermitsAreIdle() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 2, 200);
+
+        for (int i = 0; i < 100; i++) {
+            limit.update(FAST, 1);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void concurrentReleasesReturnEveryPermitAndKeepTheLimitInBounds() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(200, 2, 200);
+        int threads = 8;
+        int requestsPerThread = 10_000;
+
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[threads];
+        for (int t = 0; t < threads; t++) {
+            long rtt = t % 2 == 0 ? FAST : SLOW;
+            workers[t] = CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < requestsPerThread; i++) {
+                    if (limit.tryAcquire()) {
+                        limit.release(rtt);
+                    }
+                }
+            });
+        }
+        CompletableFuture.allOf(workers).join();
+
+        assertThat(limit.getInflight()).isZero();
+        assertThat(limit.getLimit()).isBetween(2, 200);
+    }
+
+    @Test
+    void fullBudgetsAreRejectedWithRetryAfterWhileOthersProceed() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LoadSheddingFilter filter = new LoadSheddingFilter(Map.of(
+                Budget.CHECKOUT, new GradientConcurrencyLimit(1, 1, 1),
+                Budget.CATALOG, new GradientConcurrencyLimit(1, 1, 1)), meterRegistry, Jackson2ObjectMapperBuilder.json().build(), 2);
+
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slowCheckout = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(request("POST", "/order/create"), new MockHttpServletResponse(), (req, res) -> {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/order/create"), rejected, new MockFilterChain());
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+
+        MockHttpServletResponse catalog = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/product/get-all"), catalog, new MockFilterChain());
+        assertThat(catalog.getStatus()).isEqualTo(200);
+
+        release.countDown();
+        slowCheckout.get(10, TimeUnit.SECONDS);
+        MockHttpServletResponse retried = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/order/create"), retried, new MockFilterChain());
+        assertThat(retried.getStatus()).isEqualTo(200);
+
+        assertThat(meterRegistry.get("http.server.concurrency.rejected").tag("budget", "checkout").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.concurrency.limit").tag("budget", "checkout").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void requestsAreSortedIntoBudgets() {
+        assertThat(Budget.of(request("GET", "/product/search"))).isEqualTo(Budget.CATALOG);
+        assertThat(Budget.of(request("POST", "/product/create"))).isEqualTo(Budget.ADMIN);
+        assertThat(Budget.of(request("POST", "/order/create"))).isEqualTo(Budget.CHECKOUT);
+        assertThat(Budget.of(request("GET", "/order/filter"))).isEqualTo(Budget.ADMIN);
+        assertThat(Budget.of(request("GET", "/order/events"))).isNull();
+        assertThat(Budget.of(request("POST", "/auth/login"))).isNull();
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        return new MockHttpServletRequest(method, path);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ridoh.Order_Management.config;
+
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that endpoint, service and SQL statement metrics are recorded and scraped.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsInstrumentationTest {
+
+    private static final String PRODUCT_URI = "/product/get-by-product-id/{productId}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Test
+    void requestsAreTimedAndTheirStatementsCounted() throws Exception {
+        Product product = new Product();
+        product.setName("Metered Product");
+        product.setDescription("Watched closely");
+        product.setPrice(BigDecimal.ONE);
+        product = productRepo.save(product);
+
+        mockMvc.perform(get(PRODUCT_URI, product.getId())).andExpect(status().isOk());
+        mockMvc.perform(get(PRODUCT_URI, -1L)).andExpect(status().isNotFound());
+
+        DistributionSummary statements = meterRegistry.get("http.server.requests.sql")
+                .tags("method", "GET", "uri", PRODUCT_URI).summary();
+        assertThat(statements.count()).isEqualTo(2);
+        assertThat(statements.totalAmount()).isGreaterThanOrEqualTo(2);
+
+        assertThat(meterRegistry.get("service.method")
+                .tags("class", "ProductServiceImpl", "method", "getProductById").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("service.method.errors")
+                .tags("class", "ProductServiceImpl", "method", "getProductById", "exception", "NotFoundException")
+                .counter().count()).isEqualTo(1);
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket")
+                .contains("service_method_seconds_bucket")
+                .contains("http_server_requests_sql_statements_count")
+                .contains("cache_gets_total");
+    }
+
+    @Test
+    void actuatorEndpointsOtherThanHealthAndPrometheusNeedAnAdmin() throws Exception {
+        // health reports DOWN without a mail server in tests; only access is checked here
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(result -> assertThat(result.getResponse().getStatus()).isNotIn(401, 403));
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isForbidden());
+    }
+}
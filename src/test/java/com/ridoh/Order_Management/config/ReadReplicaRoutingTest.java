@@ -0,0 +1,140 @@
+package com.ridoh.Order_Management.config;
+
+import com.ridoh.Order_Management.entity.Category;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.repository.CategoryRepo;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.service.Interface.ProductService;
+import com.ridoh.Order_Management.util.CursorCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that read-only transactions go to the replica and that recent writers read from the primary.
+ * <p>
+ * Both pools point at the same in-memory database with different logins, so the login reported by
+ * the database tells which pool served a statement.
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;"
+                + "INIT=CREATE USER IF NOT EXISTS replica PASSWORD 'replica' ADMIN",
+        "spring.datasource.hikari.minimum-idle=1",
+        "spring.datasource.replica.url=jdbc:h2:mem:routing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.replica.username=replica",
+        "spring.datasource.replica.password=replica",
+        "datasource.replica.read-your-writes-ms=60000"
+})
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private CategoryRepo categoryRepo;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        authenticate("reader@test.com");
+
+        assertThat(login(true)).isEqualToIgnoringCase("replica");
+        assertThat(login(false)).isEqualToIgnoringCase("sa");
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimary() {
+        authenticate("writer@test.com");
+        login(false);
+        assertThat(login(true)).isEqualToIgnoringCase("sa");
+
+        authenticate("other@test.com");
+        assertThat(login(true)).isEqualToIgnoringCase("replica");
+    }
+
+    @Test
+    void anonymousWritesDoNotPinGuestsToThePrimary() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("guest",
+                "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        login(false);
+
+        assertThat(login(true)).isEqualToIgnoringCase("replica");
+    }
+
+    @Test
+    void catalogReadsUseTheReplica() {
+        Category category = new Category();
+        category.setName("routed-" + System.nanoTime());
+        category = categoryRepo.save(category);
+        Product product = new Product();
+        product.setName("Routed product");
+        product.setPrice(BigDecimal.TEN);
+        product.setCategory(category);
+        product = productRepo.save(product);
+        Long productId = product.getId();
+        Long categoryId = category.getId();
+
+        assertThat(replicaCheckoutsDuring(() -> productService.getProductById(productId))).isPositive();
+        assertThat(replicaCheckoutsDuring(() -> productService.getProductsByCategory(categoryId))).isPositive();
+        assertThat(replicaCheckoutsDuring(() -> productService.getAllProducts(0, 5))).isPositive();
+        assertThat(replicaCheckoutsDuring(() -> productService.getAllProductsByCursor(CursorCodec.encode(productId + 1), 5))).isPositive();
+    }
+
+    /**
+     * Counts the connections handed out by the replica pool while {@code action} runs.
+     */
+    private long replicaCheckoutsDuring(Runnable action) {
+        long before = replicaCheckouts();
+        action.run();
+        return replicaCheckouts() - before;
+    }
+
+    private long replicaCheckouts() {
+        // the pool registers its meters when it opens its first connection
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", "replica").timer();
+        return usage != null ? usage.count() : 0;
+    }
+
+    private String login(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT CURRENT_USER", String.class));
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+}
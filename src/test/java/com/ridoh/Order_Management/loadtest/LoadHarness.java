@@ -0,0 +1,124 @@
+package com.ridoh.Order_Management.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load generator: {@code concurrency} clients, each on its own virtual thread,
+ * send requests back to back for a fixed duration and record the latency of every request.
+ * Requests completed during the warm-up period are not recorded.
+ */
+public final class LoadHarness {
+
+    private final HttpClient client;
+
+    public LoadHarness() {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Runs one load level against the URL.
+     *
+     * @param uri         the URL to request
+     * @param concurrency the number of concurrent clients (and connections)
+     * @param warmUp      how long to run before recording
+     * @param duration    how long to record after the warm-up
+     * @return the recorded results
+     */
+    public Result run(URI uri, int concurrency, Duration warmUp, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        long recordFrom = System.nanoTime() + warmUp.toNanos();
+        long stopAt = recordFrom + duration.toNanos();
+
+        List<Future<long[]>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> runClient(request, recordFrom, stopAt)));
+            }
+
+            long errors = 0;
+            List<long[]> latencies = new ArrayList<>(concurrency);
+            for (Future<long[]> future : clients) {
+                long[] clientResult = future.get();
+                errors += clientResult[0];
+                latencies.add(Arrays.copyOfRange(clientResult, 1, clientResult.length));
+            }
+            return Result.of(concurrency, duration, errors, latencies);
+        }
+    }
+
+    // element 0 holds the error count, the rest are latencies in nanoseconds
+    private long[] runClient(HttpRequest request, long recordFrom, long stopAt) {
+        long[] results = new long[1024];
+        int count = 1;
+        long now;
+        while ((now = System.nanoTime()) < stopAt) {
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500;
+            } catch (Exception e) {
+                ok = false;
+            }
+            long end = System.nanoTime();
+            if (now < recordFrom) {
+                continue;
+            }
+            if (!ok) {
+                results[0]++;
+                continue;
+            }
+            if (count == results.length) {
+                results = Arrays.copyOf(results, count * 2);
+            }
+            results[count++] = end - now;
+        }
+        return Arrays.copyOf(results, count);
+    }
+
+    /**
+     * Results of one load level.
+     *
+     * @param concurrency the number of concurrent clients
+     * @param requests    the number of successful requests recorded
+     * @param errors      the number of failed requests recorded
+     * @param throughput  successful requests per second
+     * @param p50Millis   median latency in milliseconds
+     * @param p99Millis   99th percentile latency in milliseconds
+     */
+    public record Result(int concurrency, long requests, long errors, double throughput, double p50Millis, double p99Millis) {
+
+        static Result of(int concurrency, Duration duration, long errors, List<long[]> latencies) {
+            long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            double seconds = duration.toNanos() / 1e9;
+            return new Result(concurrency, all.length, errors, all.length / seconds,
+                    percentileMillis(all, 0.50), percentileMillis(all, 0.99));
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,7d conns  %,10d req  %,6d err  %,10.0f req/s  p50 %8.1f ms  p99 %8.1f ms",
+                    concurrency, requests, errors, throughput, p50Millis, p99Millis);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.ridoh.Order_Management.loadtest;
+
+import com.ridoh.Order_Management.OrderManagementApplication;
+import com.ridoh.Order_Management.entity.Category;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.repository.CategoryRepo;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares throughput and p99 latency of the default Tomcat platform-thread pool with the
+ * virtual-thread mode ({@code spring.threads.virtual.enabled}) at increasing connection counts.
+ * <p>
+ * Opt-in: {@code mvn -Pload-test test}. Levels and durations can be changed with
+ * {@code -Dload.levels=1000,5000,10000 -Dload.duration-seconds=20 -Dload.warmup-seconds=5}.
+ * The client needs a file descriptor limit above the highest level ({@code ulimit -n}).
+ * Against the bundled H2 database each request blocks only briefly; point
+ * {@code spring.datasource.*} at MySQL to measure the blocking the modes are meant to absorb.
+ * </p>
+ */
+@Tag("load")
+class ThreadModelLoadTest {
+
+    private static final int PRODUCTS = 200;
+
+    @Test
+    void compareThreadModels() throws Exception {
+        int[] levels = Arrays.stream(System.getProperty("load.levels", "1000,5000,10000").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration-seconds", 20));
+        Duration warmUp = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 5));
+
+        Map<String, List<LoadHarness.Result>> results = new LinkedHashMap<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            String mode = virtual ? "virtual threads" : "platform pool (200)";
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                URI uri = seed(context);
+                LoadHarness harness = new LoadHarness();
+                List<LoadHarness.Result> modeResults = new ArrayList<>();
+                for (int level : levels) {
+                    modeResults.add(harness.run(uri, level, warmUp, duration));
+                }
+                results.put(mode, modeResults);
+            }
+        }
+
+        results.forEach((mode, modeResults) -> {
+            System.out.println(mode);
+            modeResults.forEach(result -> System.out.println("  " + result));
+        });
+        assertThat(results.values()).allSatisfy(modeResults ->
+                assertThat(modeResults).allSatisfy(result -> assertThat(result.requests()).isPositive()));
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(OrderManagementApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "server.tomcat.threads.max=200",
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=1000",
+                        "concurrency.enabled=false", // measure queuing in the thread models, not load shedding
+                        "rate-limit.enabled=false", // all clients share one IP
+                        "spring.datasource.url=jdbc:h2:mem:load_" + virtual + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=50",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    // Paged category products are read from the database on every request (they are not cached)
+    private static URI seed(ConfigurableApplicationContext context) {
+        Category category = new Category();
+        category.setName("load-test");
+        category = context.getBean(CategoryRepo.class).save(category);
+
+        ProductRepo productRepo = context.getBean(ProductRepo.class);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setName("Load product " + i);
+            product.setPrice(BigDecimal.ONE);
+            product.setCategory(category);
+            productRepo.save(product);
+        }
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return URI.create("http://localhost:" + port + "/category/" + category.getId() + "/products?size=20");
+    }
+}
@@ -0,0 +1,132 @@
+package com.ridoh.Order_Management.security;
+
+import com.ridoh.Order_Management.entity.User;
+import com.ridoh.Order_Management.enums.UserRole;
+import com.ridoh.Order_Management.repository.UserRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts user lookups per authenticated request with the principal cache in place.
+ */
+class JwtAuthFilterTest {
+
+    private static final int REQUESTS = 100;
+
+    private UserRepo userRepo;
+    private UserPrincipalCache userPrincipalCache;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtUtils jwtUtils;
+    private JwtAuthFilter jwtAuthFilter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .id(7L)
+                .name("Ada")
+                .email("ada@test.com")
+                .password("hashed")
+                .role(UserRole.ADMIN)
+                .build();
+        userRepo = mock(UserRepo.class);
+        when(userRepo.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+        meterRegistry = new SimpleMeterRegistry();
+        userPrincipalCache = new UserPrincipalCache(meterRegistry, 100, 300);
+
+        jwtUtils = new JwtUtils(meterRegistry);
+        ReflectionTestUtils.setField(jwtUtils, "secreteJwtString", "test-secret-key-for-signing-jwt-tokens-0123456789");
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+
+        jwtAuthFilter = new JwtAuthFilter(jwtUtils, new CustomUserDetailsService(userRepo, userPrincipalCache));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void repeatedRequestsHitTheDatabaseOnce() throws Exception {
+        String token = jwtUtils.generateToken(user);
+
+        for (int i = 0; i < REQUESTS; i++) {
+            SecurityContextHolder.clearContext();
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/my-info");
+            request.addHeader("Authorization", "Bearer " + token);
+            jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            assertThat(authentication).isNotNull();
+            AuthUser principal = (AuthUser) authentication.getPrincipal();
+            assertThat(principal.getId()).isEqualTo(7L);
+            assertThat(principal.getRole()).isEqualTo(UserRole.ADMIN);
+        }
+
+        // Before the cache: one lookup in the filter plus one in getLoginUser per request
+        verify(userRepo, times(1)).findByEmail(user.getEmail());
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "auth.principal").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(REQUESTS - 1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "auth.principal").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void userChangeEvictsCachedPrincipal() throws Exception {
+        String token = jwtUtils.generateToken(user);
+        authenticate(token);
+
+        new UserCacheEvictionListener(userPrincipalCache).evictCachedPrincipal(user);
+        authenticate(token);
+
+        verify(userRepo, times(2)).findByEmail(user.getEmail());
+    }
+
+    @Test
+    void userChangeEvictsCachedPrincipalOnlyOnceCommitted() throws Exception {
+        String token = jwtUtils.generateToken(user);
+        authenticate(token);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            new UserCacheEvictionListener(userPrincipalCache).evictCachedPrincipal(user);
+            // a request between flush and commit must not reload and re-cache the old row
+            authenticate(token);
+            verify(userRepo, times(1)).findByEmail(user.getEmail());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        authenticate(token);
+
+        verify(userRepo, times(2)).findByEmail(user.getEmail());
+    }
+
+    private void authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/my-info");
+        request.addHeader("Authorization", "Bearer " + token);
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
@@ -0,0 +1,94 @@
+package com.ridoh.Order_Management.security;
+
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies token verification and the verified-token cache.
+ */
+class JwtUtilsTest {
+
+    private static final String SECRET = "test-secret-key-for-signing-jwt-tokens-0123456789";
+    private static final String OTHER_SECRET = "another-secret-key-for-signing-jwt-tokens-9876543210";
+
+    @Test
+    void forgedSignaturesAreRejected() {
+        JwtUtils jwtUtils = jwtUtils(SECRET, 100);
+        String forged = jwtUtils(OTHER_SECRET, 100).generateToken("mallory@test.com");
+
+        assertThat(jwtUtils.verifyToken(forged)).isNull();
+        assertThat(jwtUtils.verifyToken(forged)).isNull();
+    }
+
+    @Test
+    void expiredTokensAreRejected() {
+        JwtUtils jwtUtils = jwtUtils(SECRET, 100);
+
+        assertThat(jwtUtils.verifyToken(token(SECRET, Instant.now().minusSeconds(60)))).isNull();
+    }
+
+    @Test
+    void cachedTokensAreRejectedOnceTheyExpire() throws InterruptedException {
+        JwtUtils jwtUtils = jwtUtils(SECRET, 100);
+        String token = token(SECRET, Instant.now().plusSeconds(2));
+
+        VerifiedClaims claims = jwtUtils.verifyToken(token);
+        assertThat(claims).isNotNull();
+
+        Thread.sleep(Math.max(0, Duration.between(Instant.now(), claims.getExpiresAt()).toMillis()) + 50);
+        assertThat(jwtUtils.verifyToken(token)).isNull();
+    }
+
+    @Test
+    void cacheHitsSkipVerification() {
+        JwtUtils jwtUtils = jwtUtils(SECRET, 100);
+        String token = jwtUtils.generateToken("ada@test.com");
+        VerifiedClaims first = jwtUtils.verifyToken(token);
+
+        // a second parse would now fail, so only a cache hit can return the claims
+        ReflectionTestUtils.setField(jwtUtils, "jwtParser", null);
+
+        assertThat(jwtUtils.verifyToken(token)).isSameAs(first);
+    }
+
+    @Test
+    void tokensAreVerifiedWithTheCacheDisabled() {
+        JwtUtils jwtUtils = jwtUtils(SECRET, 0);
+        String token = jwtUtils.generateToken("ada@test.com");
+
+        VerifiedClaims first = jwtUtils.verifyToken(token);
+        VerifiedClaims second = jwtUtils.verifyToken(token);
+
+        assertThat(first.getSubject()).isEqualTo("ada@test.com");
+        assertThat(second).isNotSameAs(first);
+        assertThat(jwtUtils.verifyToken(jwtUtils(OTHER_SECRET, 0).generateToken("ada@test.com"))).isNull();
+        assertThat(jwtUtils.verifyToken(token(SECRET, Instant.now().minusSeconds(60)))).isNull();
+    }
+
+    private static JwtUtils jwtUtils(String secret, long verifiedCacheMaximumSize) {
+        JwtUtils jwtUtils = new JwtUtils(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "secreteJwtString", secret);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheMaximumSize", verifiedCacheMaximumSize);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        return jwtUtils;
+    }
+
+    private static String token(String secret, Instant expiresAt) {
+        return Jwts.builder()
+                .subject("ada@test.com")
+                .issuedAt(Date.from(expiresAt.minusSeconds(3600)))
+                .expiration(Date.from(expiresAt))
+                .signWith(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"))
+                .compact();
+    }
+}
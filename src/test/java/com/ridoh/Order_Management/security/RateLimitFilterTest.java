@@ -0,0 +1,159 @@
+package com.ridoh.Order_Management.security;
+
+import com.ridoh.Order_Management.enums.UserRole;
+import com.ridoh.Order_Management.security.RateLimitFilter.Route;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies the token buckets and that the filter limits clients and routes separately.
+ */
+class RateLimitFilterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void bucketAllowsItsBurstAndRefillsOverTime() {
+        TokenBucket bucket = new TokenBucket(SECOND / 10, 5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryTake(0)).isZero();
+        }
+        assertThat(bucket.tryTake(0)).isEqualTo(SECOND / 10);
+
+        assertThat(bucket.tryTake(SECOND / 10)).isZero();
+        assertThat(bucket.tryTake(SECOND / 10)).isPositive();
+
+        assertThat(bucket.tryTake(10 * SECOND)).isZero();
+    }
+
+    @Test
+    void concurrentRequestsNeverTakeMoreThanTheBurst() {
+        TokenBucket bucket = new TokenBucket(SECOND, 1000, 0);
+        AtomicInteger taken = new AtomicInteger();
+
+        List<CompletableFuture<Void>> threads = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            threads.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (bucket.tryTake(0) == 0) {
+                        taken.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(CompletableFuture::join);
+
+        assertThat(taken).hasValue(1000);
+    }
+
+    @Test
+    void clientsOverTheirLimitGet429WithRetryAfter() throws Exception {
+        RateLimitFilter filter = filter(new MockEnvironment()
+                .withProperty("rate-limit.search.requests-per-second", "0.5")
+                .withProperty("rate-limit.search.burst", "2"));
+
+        assertThat(search(filter, "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(search(filter, "10.0.0.1").getStatus()).isEqualTo(200);
+        MockHttpServletResponse limited = search(filter, "10.0.0.1");
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+
+        assertThat(search(filter, "10.0.0.2").getStatus()).isEqualTo(200);
+        MockHttpServletResponse catalog = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/product/get-all", "10.0.0.1"), catalog, new MockFilterChain());
+        assertThat(catalog.getStatus()).isEqualTo(200);
+
+        assertThat(meterRegistry.get("http.server.rate-limited").tag("route", "search").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void authenticatedUsersAreLimitedByUserIdNotByIp() throws Exception {
+        RateLimitFilter filter = filter(new MockEnvironment()
+                .withProperty("rate-limit.order.requests-per-second", "0.1")
+                .withProperty("rate-limit.order.burst", "1"));
+        AuthUser user = AuthUser.builder().id(42L).email("limited@test.com").role(UserRole.USER).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        assertThat(placeOrder(filter, "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(placeOrder(filter, "10.0.0.2").getStatus()).isEqualTo(429);
+
+        SecurityContextHolder.clearContext();
+        assertThat(placeOrder(filter, "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void requestsAreSortedIntoRoutes() {
+        assertThat(Route.of(request("POST", "/auth/login", "10.0.0.1"))).isEqualTo(Route.AUTH);
+        assertThat(Route.of(request("GET", "/product/search", "10.0.0.1"))).isEqualTo(Route.SEARCH);
+        assertThat(Route.of(request("GET", "/category/get-all", "10.0.0.1"))).isEqualTo(Route.CATALOG);
+        assertThat(Route.of(request("POST", "/order/create", "10.0.0.1"))).isEqualTo(Route.ORDER);
+        assertThat(Route.of(request("GET", "/actuator/health", "10.0.0.1"))).isNull();
+    }
+
+    @Test
+    void invalidRatesAndBurstsAreRejectedAtStartup() {
+        assertThatThrownBy(() -> filter(new MockEnvironment().withProperty("rate-limit.search.requests-per-second", "0")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("rate-limit.search.requests-per-second");
+        assertThatThrownBy(() -> filter(new MockEnvironment().withProperty("rate-limit.order.requests-per-second", "-1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("rate-limit.order.requests-per-second");
+        assertThatThrownBy(() -> filter(new MockEnvironment().withProperty("rate-limit.auth.burst", "0")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("rate-limit.auth.burst");
+        assertThatThrownBy(() -> filter(new MockEnvironment()
+                .withProperty("rate-limit.catalog.requests-per-second", "0.000000001")
+                .withProperty("rate-limit.catalog.burst", "1000000")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("rate-limit.catalog.requests-per-second");
+    }
+
+    private RateLimitFilter filter(MockEnvironment environment) {
+        return new RateLimitFilter(environment, meterRegistry, Jackson2ObjectMapperBuilder.json().build(), true, 1000, 60);
+    }
+
+    private static MockHttpServletResponse search(RateLimitFilter filter, String ip) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/product/search", ip), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletResponse placeOrder(RateLimitFilter filter, String ip) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/order/create", ip), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(ip);
+        return request;
+    }
+}
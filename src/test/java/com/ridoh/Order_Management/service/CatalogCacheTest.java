@@ -0,0 +1,106 @@
+package com.ridoh.Order_Management.service;
+
+import com.ridoh.Order_Management.dto.ProductDto;
+import com.ridoh.Order_Management.service.CatalogCache.CatalogVersion;
+import com.ridoh.Order_Management.service.CatalogRevisions.Revision;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies that bulk loads racing with an invalidation do not cache the products they read, and
+ * that the catalog validators follow the shared catalog revision.
+ */
+class CatalogCacheTest {
+
+    private final CatalogRevisions catalogRevisions = mock(CatalogRevisions.class);
+    private final CatalogCache catalogCache = newCache();
+
+    @Test
+    void bulkLoadedProductsAreCachedAndServedAgain() {
+        AtomicInteger loads = new AtomicInteger();
+
+        catalogCache.getProducts(List.of(1L, 2L), ids -> {
+            loads.incrementAndGet();
+            return Map.of(1L, product(1L, "Sneaker"), 2L, product(2L, "Boot"));
+        });
+        List<ProductDto> cached = catalogCache.getProducts(List.of(2L, 1L), ids -> {
+            loads.incrementAndGet();
+            return Map.of();
+        });
+
+        assertThat(loads).hasValue(1);
+        assertThat(cached).extracting(ProductDto::getName).containsExactly("Boot", "Sneaker");
+    }
+
+    @Test
+    void bulkLoadRacingWithAnInvalidationIsNotCached() {
+        when(catalogRevisions.advance()).thenReturn(new Revision(1, 1_000));
+        List<ProductDto> stale = catalogCache.getProducts(List.of(1L), ids -> {
+            // the product is written and invalidated after the loader read it
+            catalogCache.invalidateProduct(1L);
+            return Map.of(1L, product(1L, "Sneaker"));
+        });
+        List<ProductDto> reloaded = catalogCache.getProducts(List.of(1L), ids -> Map.of(1L, product(1L, "Trail sneaker")));
+
+        assertThat(stale).extracting(ProductDto::getName).containsExactly("Sneaker");
+        assertThat(reloaded).extracting(ProductDto::getName).containsExactly("Trail sneaker");
+    }
+
+    @Test
+    void everyInstanceDerivesTheSameValidatorsFromTheRevision() {
+        when(catalogRevisions.current()).thenReturn(new Revision(7, 1_000));
+
+        CatalogVersion version = catalogCache.currentVersion();
+
+        assertThat(newCache().currentVersion()).isEqualTo(version);
+        assertThat(version.etag()).startsWith("W/\"7-");
+    }
+
+    @Test
+    void revisionWrittenByAnotherInstanceEvictsTheCatalog() {
+        when(catalogRevisions.current()).thenReturn(new Revision(1, 1_000));
+        catalogCache.currentVersion();
+        catalogCache.getProduct(1L, id -> product(id, "Sneaker"));
+
+        when(catalogRevisions.current()).thenReturn(new Revision(2, 2_000));
+        catalogCache.currentVersion();
+
+        assertThat(catalogCache.getProduct(1L, id -> product(id, "Trail sneaker")).getName()).isEqualTo("Trail sneaker");
+    }
+
+    @Test
+    void ownWriteOnlyEvictsWhatItChanged() {
+        when(catalogRevisions.current()).thenReturn(new Revision(1, 1_000));
+        catalogCache.currentVersion();
+        catalogCache.getProduct(1L, id -> product(id, "Sneaker"));
+        catalogCache.getProduct(2L, id -> product(id, "Boot"));
+
+        when(catalogRevisions.advance()).thenReturn(new Revision(2, 2_000));
+        catalogCache.invalidateProduct(1L);
+        when(catalogRevisions.current()).thenReturn(new Revision(2, 2_000));
+        catalogCache.currentVersion();
+
+        assertThat(catalogCache.getProduct(2L, id -> product(id, "Riding boot")).getName()).isEqualTo("Boot");
+        assertThat(catalogCache.currentVersion().etag()).startsWith("W/\"2-");
+    }
+
+    private CatalogCache newCache() {
+        // the revision is re-read on every request
+        return new CatalogCache(new SimpleMeterRegistry(), catalogRevisions, 100, 60, 0);
+    }
+
+    private static ProductDto product(Long id, String name) {
+        ProductDto product = new ProductDto();
+        product.setId(id);
+        product.setName(name);
+        return product;
+    }
+}
@@ -0,0 +1,50 @@
+package com.ridoh.Order_Management.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageStorageTest {
+
+    @TempDir
+    Path root;
+
+    private ImageStorage imageStorage;
+
+    @BeforeEach
+    void setUp() {
+        imageStorage = new ImageStorage(new LocalFileStorageService(root, "/files"));
+    }
+
+    @Test
+    void identicalImagesAreStoredOnce() throws IOException {
+        byte[] bytes = {1, 2, 3, 4};
+
+        String first = imageStorage.saveImage(new MockMultipartFile("image", "a.png", "image/png", bytes)).url();
+        String second = imageStorage.saveImage(new MockMultipartFile("image", "copy-of-a.png", "image/png", bytes)).url();
+        String other = imageStorage.saveImage(new MockMultipartFile("image", "a.png", "image/png", new byte[]{9})).url();
+
+        assertThat(first).isEqualTo(second).startsWith("/files/images/").endsWith(".png");
+        assertThat(other).isNotEqualTo(first);
+        try (Stream<Path> files = Files.list(root.resolve("images"))) {
+            assertThat(files).hasSize(2);
+        }
+        assertThat(Files.readAllBytes(root.resolve(first.substring("/files/".length())))).isEqualTo(bytes);
+    }
+
+    @Test
+    void keysCannotEscapeTheStorageRoot() {
+        LocalFileStorageService storage = new LocalFileStorageService(root, "/files");
+
+        assertThatThrownBy(() -> storage.exists("../outside.png")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
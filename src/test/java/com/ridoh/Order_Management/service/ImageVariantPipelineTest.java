@@ -0,0 +1,110 @@
+package com.ridoh.Order_Management.service;
+
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.service.ImageStorage.StoredImage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImageVariantPipelineTest {
+
+    @TempDir
+    Path root;
+
+    private LocalFileStorageService storage;
+    private ImageStorage imageStorage;
+    private ProductRepo productRepo;
+    private SimpleMeterRegistry meterRegistry;
+    private ImageVariantPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalFileStorageService(root, "/files");
+        imageStorage = new ImageStorage(storage);
+        productRepo = mock(ProductRepo.class);
+        when(productRepo.updateImageVariants(any(), anyString(), anyString(), anyString())).thenReturn(1);
+        CatalogRevisions catalogRevisions = mock(CatalogRevisions.class);
+        when(catalogRevisions.advance()).thenReturn(new CatalogRevisions.Revision(1, 0));
+        meterRegistry = new SimpleMeterRegistry();
+        pipeline = new ImageVariantPipeline(storage, imageStorage, productRepo,
+                new CatalogCache(meterRegistry, catalogRevisions, 100, 60, 1000), meterRegistry, 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void storesScaledVariantsNextToTheOriginalAndRecordsThem() throws IOException {
+        StoredImage original = imageStorage.saveImage(png(1000, 500));
+
+        pipeline.process(7L, 3L, original);
+
+        ArgumentCaptor<String> thumb = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> medium = ArgumentCaptor.forClass(String.class);
+        verify(productRepo).updateImageVariants(eq(7L), eq(original.url()), thumb.capture(), medium.capture());
+
+        String base = original.url().substring(0, original.url().lastIndexOf('.'));
+        assertThat(thumb.getValue()).startsWith(base + "-thumb.");
+        assertThat(medium.getValue()).startsWith(base + "-medium.");
+
+        BufferedImage thumbnail = ImageIO.read(storage.open(thumb.getValue().substring("/files/".length())));
+        assertThat(thumbnail.getWidth()).isEqualTo(200);
+        assertThat(thumbnail.getHeight()).isEqualTo(100);
+        assertThat(meterRegistry.get("image.pipeline.images").tag("result", "processed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void reusesVariantsOfIdenticalImages() throws IOException {
+        StoredImage first = imageStorage.saveImage(png(300, 300));
+        pipeline.process(1L, null, first);
+        StoredImage second = imageStorage.saveImage(png(300, 300));
+        pipeline.process(2L, null, second);
+
+        assertThat(second.key()).isEqualTo(first.key());
+        verify(productRepo, times(2)).updateImageVariants(any(), eq(first.url()), anyString(), anyString());
+        try (Stream<Path> files = Files.list(root.resolve("images"))) {
+            assertThat(files).hasSize(3);
+        }
+    }
+
+    @Test
+    void countsUndecodableImagesAsFailed() {
+        StoredImage broken = imageStorage.saveImage(
+                new MockMultipartFile("image", "broken.png", "image/png", new byte[]{1, 2, 3}));
+
+        pipeline.process(1L, null, broken);
+
+        verify(productRepo, times(0)).updateImageVariants(any(), any(), any(), any());
+        assertThat(meterRegistry.get("image.pipeline.images").tag("result", "failed").counter().count()).isEqualTo(1);
+    }
+
+    private static MockMultipartFile png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return new MockMultipartFile("image", "product.png", "image/png", bytes.toByteArray());
+    }
+}
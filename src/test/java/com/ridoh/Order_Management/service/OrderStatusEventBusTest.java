@@ -0,0 +1,150 @@
+package com.ridoh.Order_Management.service;
+
+import com.ridoh.Order_Management.enums.OrderStatus;
+import com.ridoh.Order_Management.service.OrderStatusEventBus.OverflowPolicy;
+import com.ridoh.Order_Management.service.OrderStatusEventBus.StatusChange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderStatusEventBusTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderStatusEventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        bus.shutdown();
+    }
+
+    @Test
+    void customersReceiveOwnChangesAndAdminsReceiveAll() throws InterruptedException {
+        bus = new OrderStatusEventBus(meterRegistry, 16, OverflowPolicy.DROP_OLDEST, 60_000);
+        CapturingEmitter alice = subscribe(1L, false);
+        CapturingEmitter bob = subscribe(2L, false);
+        CapturingEmitter admin = subscribe(99L, true);
+
+        bus.publish(List.of(change(10L, 1L), change(11L, 2L), change(12L, 1L)));
+
+        waitUntil(() -> admin.events.size() == 3 && alice.events.size() == 2);
+        assertThat(bob.events).hasSize(1);
+    }
+
+    @Test
+    void eventsReachOnlyTheOwnersStreamsAmongManyIdleOnes() throws InterruptedException {
+        bus = new OrderStatusEventBus(meterRegistry, 16, OverflowPolicy.DROP_OLDEST, 60_000);
+        List<CapturingEmitter> idle = new ArrayList<>();
+        for (long userId = 1000; userId < 6000; userId++) {
+            idle.add(subscribe(userId, false));
+        }
+        CapturingEmitter buyer = subscribe(1L, false);
+
+        for (long item = 0; item < 1000; item++) {
+            bus.publish(List.of(change(item, 1L)));
+        }
+
+        // every event is buffered for exactly one stream, none for the 5000 idle ones
+        waitUntil(() -> sent() + dropped() == 1000);
+        assertThat(buyer.events).hasSize((int) sent());
+        assertThat(idle).allSatisfy(emitter -> assertThat(emitter.events).isEmpty());
+        assertThat(meterRegistry.get("order.events.fanout").timer().count()).isEqualTo(1000);
+    }
+
+    @Test
+    void fullBuffersDropTheOldestEvents() throws Exception {
+        bus = new OrderStatusEventBus(meterRegistry, 2, OverflowPolicy.DROP_OLDEST, 60_000);
+        CapturingEmitter slow = subscribe(1L, false);
+        slow.block();
+
+        bus.publish(List.of(change(1L, 1L)));
+        waitUntil(() -> slow.sending.getCount() == 0);
+        bus.publish(List.of(change(2L, 1L), change(3L, 1L), change(4L, 1L), change(5L, 1L)));
+        slow.release();
+
+        waitUntil(() -> slow.events.size() == 3);
+        assertThat(dropped()).isEqualTo(2);
+    }
+
+    @Test
+    void fullBuffersCanDisconnectTheSubscriber() throws Exception {
+        bus = new OrderStatusEventBus(meterRegistry, 2, OverflowPolicy.DISCONNECT, 60_000);
+        CapturingEmitter slow = subscribe(1L, false);
+        slow.block();
+
+        bus.publish(List.of(change(1L, 1L)));
+        waitUntil(() -> slow.sending.getCount() == 0);
+        bus.publish(List.of(change(2L, 1L), change(3L, 1L), change(4L, 1L)));
+
+        assertThat(meterRegistry.get("order.events.disconnected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("order.events.subscribers").gauge().value()).isZero();
+        slow.release();
+    }
+
+    private CapturingEmitter subscribe(Long userId, boolean admin) {
+        CapturingEmitter emitter = new CapturingEmitter();
+        bus.subscribe(userId, admin, emitter);
+        return emitter;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private double sent() {
+        return meterRegistry.get("order.events.sent").counter().count();
+    }
+
+    private double dropped() {
+        return meterRegistry.get("order.events.dropped").counter().count();
+    }
+
+    private static StatusChange change(Long orderItemId, Long userId) {
+        return new StatusChange(orderItemId, userId, OrderStatus.PENDING, OrderStatus.CONFIRMED, LocalDateTime.now());
+    }
+
+    /**
+     * Records sent events instead of writing them to a response, optionally blocking the sender.
+     */
+    private static class CapturingEmitter extends SseEmitter {
+
+        final List<SseEventBuilder> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch sending = new CountDownLatch(1);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            events.add(builder);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.ridoh.Order_Management.service;
+
+import com.ridoh.Order_Management.entity.Category;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ProductRepo productRepo = mock(ProductRepo.class);
+        when(productRepo.findByIdGreaterThan(anyLong(), any())).thenReturn(List.of(
+                product(1L, 10L, "Running Shoe", "Lightweight trainer"),
+                product(2L, 10L, "Sock", "Pairs well with a running shoe"),
+                product(3L, 20L, "Café Mug", "Ceramic mug for coffee")));
+
+        index = new ProductSearchIndex(productRepo, 1000);
+        index.open();
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void matchesWordPrefixesCaseAndAccentInsensitively() {
+        assertThat(index.search("runn", 10)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("CAFE", 10)).containsExactly(3L);
+        assertThat(index.search("running mu", 10)).isEmpty();
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        assertThat(index.search("shoe", 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void writersKeepTheIndexCurrent() {
+        index.index(product(2L, 10L, "Wool Sock", "Warm"));
+        assertThat(index.search("running", 10)).containsExactly(1L);
+        assertThat(index.search("wool", 10)).containsExactly(2L);
+
+        index.remove(1L);
+        assertThat(index.search("shoe", 10)).isEmpty();
+
+        index.removeCategory(20L);
+        assertThat(index.search("mug", 10)).isEmpty();
+    }
+
+    private static Product product(Long id, Long categoryId, String name, String description) {
+        Category category = new Category();
+        category.setId(categoryId);
+
+        Product product = new Product();
+        product.setId(id);
+        product.setCategory(category);
+        product.setName(name);
+        product.setDescription(description);
+        product.setPrice(BigDecimal.ONE);
+        return product;
+    }
+}
@@ -0,0 +1,171 @@
+package com.ridoh.Order_Management.service.impl;
+
+import com.ridoh.Order_Management.entity.EmailOutbox;
+import com.ridoh.Order_Management.enums.EmailStatus;
+import com.ridoh.Order_Management.repository.EmailOutboxRepo;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxDispatcherTest {
+
+    private FakeMailSender mailSender;
+    private EmailOutboxRepo emailOutboxRepo;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = new FakeMailSender();
+        emailOutboxRepo = mock(EmailOutboxRepo.class);
+        when(emailOutboxRepo.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        EmailService emailService = new EmailService(mailSender, emailOutboxRepo);
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@ridoh-ecommerce.test");
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        dispatcher = new EmailOutboxDispatcher(emailOutboxRepo, emailService, transactionTemplate);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "backoffSeconds", 30L);
+    }
+
+    @Test
+    void sendsWholeBatchOverOneConnection() {
+        List<EmailOutbox> batch = List.of(email(1L, "a@test.com", 0), email(2L, "b@test.com", 0), email(3L, "c@test.com", 0));
+        givenDue(batch);
+
+        int processed = dispatcher.dispatchPendingEmails();
+
+        assertThat(processed).isEqualTo(3);
+        assertThat(mailSender.connections).isEqualTo(1);
+        assertThat(mailSender.delivered).hasSize(3);
+        assertThat(batch).allSatisfy(email -> {
+            assertThat(email.getStatus()).isEqualTo(EmailStatus.SENT);
+            assertThat(email.getAttempts()).isEqualTo(1);
+            assertThat(email.getSentAt()).isNotNull();
+        });
+    }
+
+    @Test
+    void failedMessageIsRescheduledWithBackoffWhileOthersAreSent() {
+        EmailOutbox ok = email(1L, "ok@test.com", 0);
+        EmailOutbox bounced = email(2L, "bounce@test.com", 1);
+        givenDue(List.of(ok, bounced));
+        mailSender.rejectedRecipients.add("bounce@test.com");
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatchPendingEmails();
+
+        assertThat(ok.getStatus()).isEqualTo(EmailStatus.SENT);
+        assertThat(bounced.getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(bounced.getAttempts()).isEqualTo(2);
+        assertThat(bounced.getLastError()).contains("rejected");
+        // second attempt waits twice the base backoff
+        assertThat(bounced.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(60));
+    }
+
+    @Test
+    void messageIsMarkedFailedAfterMaxAttempts() {
+        EmailOutbox bounced = email(1L, "bounce@test.com", 2);
+        givenDue(List.of(bounced));
+        mailSender.rejectedRecipients.add("bounce@test.com");
+
+        dispatcher.dispatchPendingEmails();
+
+        assertThat(bounced.getStatus()).isEqualTo(EmailStatus.FAILED);
+        assertThat(bounced.getAttempts()).isEqualTo(3);
+    }
+
+    @Test
+    void emptyOutboxDoesNotConnect() {
+        givenDue(List.of());
+
+        assertThat(dispatcher.dispatchPendingEmails()).isZero();
+        assertThat(mailSender.connections).isZero();
+    }
+
+    private void givenDue(List<EmailOutbox> batch) {
+        when(emailOutboxRepo.findDueForDispatch(eq(EmailStatus.PENDING), any(), any())).thenReturn(batch);
+    }
+
+    private EmailOutbox email(Long id, String recipient, int attempts) {
+        EmailOutbox email = new EmailOutbox();
+        email.setId(id);
+        email.setRecipient(recipient);
+        email.setSubject("Order Confirmation - #" + id);
+        email.setBody("<p>Thank you for shopping with us!</p>");
+        email.setAttempts(attempts);
+        return email;
+    }
+
+    /**
+     * In-memory JavaMailSender that records deliveries and counts connections (one per send call).
+     */
+    private static class FakeMailSender implements JavaMailSender {
+
+        private final Session session = Session.getInstance(new Properties());
+        private final List<MimeMessage> delivered = new ArrayList<>();
+        private final Set<String> rejectedRecipients = new java.util.HashSet<>();
+        private int connections;
+
+        @Override
+        public MimeMessage createMimeMessage() {
+            return new MimeMessage(session);
+        }
+
+        @Override
+        public MimeMessage createMimeMessage(InputStream contentStream) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(MimeMessage... mimeMessages) {
+            connections++;
+            Map<Object, Exception> failed = new LinkedHashMap<>();
+            for (MimeMessage message : mimeMessages) {
+                try {
+                    Address recipient = message.getAllRecipients()[0];
+                    if (rejectedRecipients.contains(recipient.toString())) {
+                        failed.put(message, new MessagingException("Recipient rejected: " + recipient));
+                    } else {
+                        delivered.add(message);
+                    }
+                } catch (MessagingException e) {
+                    failed.put(message, e);
+                }
+            }
+            if (!failed.isEmpty()) {
+                throw new MailSendException(failed);
+            }
+        }
+
+        @Override
+        public void send(SimpleMailMessage... simpleMessages) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.ridoh.Order_Management.service.impl;
+
+import com.ridoh.Order_Management.dto.OrderItemRequest;
+import com.ridoh.Order_Management.dto.OrderRequest;
+import com.ridoh.Order_Management.dto.Response;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.entity.User;
+import com.ridoh.Order_Management.enums.UserRole;
+import com.ridoh.Order_Management.exception.InvalidCredentialsException;
+import com.ridoh.Order_Management.exception.NotFoundException;
+import com.ridoh.Order_Management.repository.EmailOutboxRepo;
+import com.ridoh.Order_Management.repository.OrderHistoryRepo;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.repository.UserRepo;
+import com.ridoh.Order_Management.service.Interface.OrderItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that orders placed with an idempotency key are placed once, however the retries arrive.
+ */
+@SpringBootTest
+class IdempotentOrderPlacementTest {
+
+    private static final int STOCK = 100;
+    private static final int RETRIES = 16;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @Autowired
+    private OrderHistoryRepo orderHistoryRepo;
+
+    @Autowired
+    private EmailOutboxRepo emailOutboxRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    private User user;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepo.save(User.builder()
+                .name("Impatient Buyer")
+                .email("retry-" + System.nanoTime() + "@test.com")
+                .password("secret")
+                .phoneNumber("0000000000")
+                .role(UserRole.USER)
+                .build());
+        authenticate();
+
+        product = new Product();
+        product.setName("Retried Product");
+        product.setDescription("Ordered once, requested many times");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(STOCK);
+        product = productRepo.save(product);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void simultaneousRetriesPlaceTheOrderOnce() throws Exception {
+        OrderRequest request = request(product.getId(), 2);
+        String key = UUID.randomUUID().toString();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Response>> responses = new ArrayList<>();
+        try (ExecutorService clients = Executors.newFixedThreadPool(RETRIES)) {
+            for (int i = 0; i < RETRIES; i++) {
+                responses.add(clients.submit(() -> {
+                    authenticate();
+                    start.await();
+                    return orderItemService.placeOrder(request, key);
+                }));
+            }
+            start.countDown();
+            for (Future<Response> response : responses) {
+                assertThat(response.get().getStatus()).isEqualTo(200);
+            }
+        }
+
+        assertThat(placedOrderItems()).isEqualTo(1);
+        assertThat(productRepo.findStockById(product.getId())).isEqualTo(STOCK - 2);
+        assertThat(confirmationEmails()).isEqualTo(1);
+    }
+
+    @Test
+    void retriesAreAnsweredFromTheKeyTableOnceForgottenInMemory() {
+        OrderRequest request = request(product.getId(), 1);
+        String key = UUID.randomUUID().toString();
+
+        orderItemService.placeOrder(request, key);
+        orderIdempotencyService.clearRecentKeys();
+        orderItemService.placeOrder(request, key);
+
+        assertThat(placedOrderItems()).isEqualTo(1);
+        assertThat(productRepo.findStockById(product.getId())).isEqualTo(STOCK - 1);
+    }
+
+    @Test
+    void aKeyCannotBeReusedForADifferentOrder() {
+        String key = UUID.randomUUID().toString();
+        orderItemService.placeOrder(request(product.getId(), 1), key);
+
+        assertThatThrownBy(() -> orderItemService.placeOrder(request(product.getId(), 3), key))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThat(placedOrderItems()).isEqualTo(1);
+    }
+
+    @Test
+    void failedRequestsAreNotRememberedAndRequestsWithoutAKeyAreNotDeduplicated() {
+        String key = UUID.randomUUID().toString();
+        assertThatThrownBy(() -> orderItemService.placeOrder(request(-1L, 1), key))
+                .isInstanceOf(NotFoundException.class);
+
+        orderItemService.placeOrder(request(product.getId(), 1), key);
+        orderItemService.placeOrder(request(product.getId(), 1));
+        orderItemService.placeOrder(request(product.getId(), 1));
+
+        assertThat(placedOrderItems()).isEqualTo(3);
+    }
+
+    private void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+    }
+
+    private static OrderRequest request(Long productId, int quantity) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(productId.intValue());
+        item.setQuantity(quantity);
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(item));
+        return request;
+    }
+
+    private int placedOrderItems() {
+        return orderHistoryRepo.findByUserIdAndIdLessThanOrderByIdDesc(user.getId(), Long.MAX_VALUE, Pageable.unpaged()).size();
+    }
+
+    private long confirmationEmails() {
+        return emailOutboxRepo.findAll().stream()
+                .filter(email -> email.getRecipient().equals(user.getEmail()))
+                .count();
+    }
+}
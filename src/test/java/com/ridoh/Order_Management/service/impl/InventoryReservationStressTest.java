@@ -0,0 +1,182 @@
+package com.ridoh.Order_Management.service.impl;
+
+import com.ridoh.Order_Management.dto.OrderItemRequest;
+import com.ridoh.Order_Management.dto.OrderRequest;
+import com.ridoh.Order_Management.entity.InventoryReservation;
+import com.ridoh.Order_Management.entity.OrderItem;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.entity.User;
+import com.ridoh.Order_Management.enums.OrderStatus;
+import com.ridoh.Order_Management.enums.ReservationStatus;
+import com.ridoh.Order_Management.enums.UserRole;
+import com.ridoh.Order_Management.exception.OutOfStockException;
+import com.ridoh.Order_Management.repository.InventoryReservationRepo;
+import com.ridoh.Order_Management.repository.OrderItemRepo;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.repository.UserRepo;
+import com.ridoh.Order_Management.service.Interface.OrderItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that thousands of concurrent buyers of one product, each on its own virtual thread,
+ * never oversell it, and that cancelled or expired reservations return their stock.
+ */
+@SpringBootTest
+class InventoryReservationStressTest {
+
+    private static final int STOCK = 100;
+    private static final int BUYERS = 2_000;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private OrderItemRepo orderItemRepo;
+
+    @Autowired
+    private InventoryReservationRepo inventoryReservationRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    private User buyer;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        buyer = userRepo.save(User.builder()
+                .name("Flash Buyer")
+                .email("flash-" + System.nanoTime() + "@test.com")
+                .password("secret")
+                .phoneNumber("0000000000")
+                .role(UserRole.USER)
+                .build());
+
+        product = new Product();
+        product.setName("Limited sneaker");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(STOCK);
+        product = productRepo.save(product);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @Timeout(60)
+    void concurrentBuyersNeverOversell() throws Exception {
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (int i = 0; i < BUYERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(buyer.getEmail(), null, List.of()));
+                    try {
+                        orderItemService.placeOrder(order(1));
+                        sold.incrementAndGet();
+                    } catch (OutOfStockException e) {
+                        rejected.incrementAndGet();
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(sold.get()).isEqualTo(STOCK);
+        assertThat(rejected.get()).isEqualTo(BUYERS - STOCK);
+        assertThat(productRepo.findStockById(product.getId())).isZero();
+        assertThat(reservationsFor(product)).hasSize(STOCK);
+    }
+
+    @Test
+    void cancellingAnItemReturnsItsStock() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(buyer.getEmail(), null, List.of()));
+        orderItemService.placeOrder(order(3));
+        assertThat(productRepo.findStockById(product.getId())).isEqualTo(STOCK - 3);
+
+        InventoryReservation reservation = reservationsFor(product).get(0);
+        orderItemService.updateOrderItemStatus(reservation.getOrderItemId(), "cancelled");
+        orderItemService.updateOrderItemStatus(reservation.getOrderItemId(), "cancelled");
+
+        assertThat(productRepo.findStockById(product.getId())).isEqualTo(STOCK);
+        assertThatThrownBy(() -> orderItemService.placeOrder(order(STOCK + 1))).isInstanceOf(OutOfStockException.class);
+        assertThat(productRepo.findStockById(product.getId())).isEqualTo(STOCK);
+    }
+
+    @Test
+    void expiredReservationsReturnStockAndCancelPendingItems() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(buyer.getEmail(), null, List.of()));
+        orderItemService.placeOrder(order(2));
+
+        InventoryReservation reservation = reservationsFor(product).get(0);
+        reservation.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        inventoryReservationRepo.save(reservation);
+
+        assertThat(inventoryService.expireReservations()).isEqualTo(1);
+
+        OrderItem orderItem = orderItemRepo.findById(reservation.getOrderItemId()).orElseThrow();
+        assertThat(orderItem.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(productRepo.findStockById(product.getId())).isEqualTo(STOCK);
+        assertThat(reservationsFor(product)).extracting(InventoryReservation::getStatus)
+                .containsExactly(ReservationStatus.EXPIRED);
+    }
+
+    private List<InventoryReservation> reservationsFor(Product product) {
+        return inventoryReservationRepo.findAll().stream()
+                .filter(reservation -> reservation.getProductId().equals(product.getId()))
+                .toList();
+    }
+
+    private OrderRequest order(int quantity) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(product.getId().intValue());
+        item.setQuantity(quantity);
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(item));
+        return request;
+    }
+}
@@ -0,0 +1,165 @@
+package com.ridoh.Order_Management.service.impl;
+
+import com.ridoh.Order_Management.dto.OrderItemDto;
+import com.ridoh.Order_Management.dto.OrderItemRequest;
+import com.ridoh.Order_Management.dto.OrderRequest;
+import com.ridoh.Order_Management.dto.Response;
+import com.ridoh.Order_Management.dto.UserDto;
+import com.ridoh.Order_Management.entity.OrderHistoryEntry;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.entity.User;
+import com.ridoh.Order_Management.enums.OrderStatus;
+import com.ridoh.Order_Management.enums.UserRole;
+import com.ridoh.Order_Management.repository.OrderHistoryRepo;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.repository.UserRepo;
+import com.ridoh.Order_Management.service.Interface.OrderItemService;
+import com.ridoh.Order_Management.service.Interface.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the order history read model follows the order items and that reading it costs a
+ * constant number of statements however many orders the user has.
+ */
+@SpringBootTest
+class OrderHistoryReadModelTest {
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private OrderHistoryRepo orderHistoryRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Product> products = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepo.save(User.builder()
+                .name("History Tester")
+                .email("history-" + System.nanoTime() + "@test.com")
+                .password("secret")
+                .phoneNumber("0000000000")
+                .role(UserRole.USER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+
+        for (int i = 0; i < 3; i++) {
+            Product product = new Product();
+            product.setName("History Product " + i);
+            product.setDescription("Description " + i);
+            product.setPrice(BigDecimal.valueOf(10 + i));
+            products.add(productRepo.save(product));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void pagesThroughHistoryNewestFirstWithConstantStatements() {
+        placeOrder(products.get(0), products.get(1));
+        placeOrder(products.get(2));
+
+        Response first = userService.getUserInfoAndOrderHistory(null, 2);
+        List<OrderItemDto> firstPage = history(first);
+        assertThat(firstPage).extracting(item -> item.getProduct().getName())
+                .containsExactly("History Product 2", "History Product 1");
+        assertThat(first.getNextCursor()).isNotNull();
+
+        Response second = userService.getUserInfoAndOrderHistory(first.getNextCursor(), 2);
+        assertThat(history(second)).extracting(item -> item.getProduct().getName())
+                .containsExactly("History Product 0");
+        assertThat(second.getNextCursor()).isNull();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        userService.getUserInfoAndOrderHistory(null, 20);
+        long statementsWithThreeItems = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 10; i++) {
+            placeOrder(products.get(0), products.get(1), products.get(2));
+        }
+        statistics.clear();
+        assertThat(history(userService.getUserInfoAndOrderHistory(null, 20))).hasSize(20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsWithThreeItems);
+    }
+
+    @Test
+    void statusChangesReachTheHistory() {
+        placeOrder(products.get(0));
+        Long orderItemId = history(userService.getUserInfoAndOrderHistory(null, 1)).get(0).getId();
+
+        orderItemService.updateOrderItemStatus(orderItemId, "confirmed");
+
+        assertThat(history(userService.getUserInfoAndOrderHistory(null, 1)).get(0).getStatus())
+                .isEqualTo(OrderStatus.CONFIRMED.name());
+    }
+
+    @Test
+    void backfillRestoresMissingEntriesAndIsIdempotent() {
+        placeOrder(products.get(0), products.get(1));
+        Long orderItemId = history(userService.getUserInfoAndOrderHistory(null, 1)).get(0).getId();
+        orderItemService.updateOrderItemStatus(orderItemId, "confirmed");
+        List<OrderHistoryEntry> before = orderHistoryRepo.findAll();
+
+        orderHistoryRepo.deleteAllInBatch();
+        // other tests may have written order items without going through placeOrder
+        assertThat(orderHistoryService.backfill()).isGreaterThanOrEqualTo(before.size());
+        assertThat(orderHistoryService.backfill()).isZero();
+
+        assertThat(orderHistoryRepo.findAll()).usingRecursiveFieldByFieldElementComparator()
+                .containsAll(before);
+        assertThat(orderHistoryRepo.findById(orderItemId)).get()
+                .extracting(OrderHistoryEntry::getStatus).isEqualTo(OrderStatus.CONFIRMED);
+    }
+
+    private void placeOrder(Product... items) {
+        List<OrderItemRequest> requests = new ArrayList<>();
+        for (Product product : items) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductId(product.getId().intValue());
+            item.setQuantity(1);
+            requests.add(item);
+        }
+        OrderRequest request = new OrderRequest();
+        request.setItems(requests);
+        orderItemService.placeOrder(request);
+    }
+
+    private static List<OrderItemDto> history(Response response) {
+        return ((UserDto) response.getData()).getOrderItemList();
+    }
+}
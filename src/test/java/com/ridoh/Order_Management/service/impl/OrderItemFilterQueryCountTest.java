@@ -0,0 +1,207 @@
+package com.ridoh.Order_Management.service.impl;
+
+import com.ridoh.Order_Management.dto.OrderItemDto;
+import com.ridoh.Order_Management.dto.Response;
+import com.ridoh.Order_Management.entity.Address;
+import com.ridoh.Order_Management.entity.OrderItem;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.entity.User;
+import com.ridoh.Order_Management.enums.OrderStatus;
+import com.ridoh.Order_Management.enums.UserRole;
+import com.ridoh.Order_Management.exception.InvalidCredentialsException;
+import com.ridoh.Order_Management.repository.OrderItemRepo;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.repository.UserRepo;
+import com.ridoh.Order_Management.service.Interface.OrderItemService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that filtering and exporting order items costs a constant number of statements,
+ * independent of how many distinct products, users and addresses the rows reference.
+ */
+@SpringBootTest
+class OrderItemFilterQueryCountTest {
+
+    private static final int ITEMS = 30;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private OrderItemRepo orderItemRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        orderItemRepo.deleteAll(orderItemRepo.findAll().stream()
+                .filter(item -> item.getStatus() == OrderStatus.DELIVERED).toList());
+
+        for (int i = 0; i < ITEMS; i++) {
+            Address address = new Address();
+            address.setStreet(i + " Main Street");
+            address.setCity("Lagos");
+
+            User user = userRepo.save(User.builder()
+                    .name("Buyer " + i)
+                    .email("buyer-" + i + "-" + System.nanoTime() + "@test.com")
+                    .password("secret")
+                    .phoneNumber("0000000000")
+                    .role(UserRole.USER)
+                    .address(address)
+                    .build());
+
+            Product product = new Product();
+            product.setName("Filtered product " + i);
+            product.setPrice(BigDecimal.TEN);
+            product = productRepo.save(product);
+
+            OrderItem orderItem = new OrderItem();
+            orderItem.setUser(user);
+            orderItem.setProduct(product);
+            orderItem.setQuantity(1);
+            orderItem.setPrice(BigDecimal.TEN);
+            orderItem.setStatus(OrderStatus.DELIVERED);
+            orderItemRepo.save(orderItem);
+        }
+    }
+
+    @Test
+    void offsetPageCostIsIndependentOfPageSize() {
+        long smallPage = statementsFor(() -> orderItemService.filterOrderItems(OrderStatus.DELIVERED, null, null, null,
+                PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "id"))));
+        long largePage = statementsFor(() -> orderItemService.filterOrderItems(OrderStatus.DELIVERED, null, null, null,
+                PageRequest.of(0, 25, Sort.by(Sort.Direction.DESC, "id"))));
+
+        // one projection query plus one count query
+        assertThat(smallPage).isEqualTo(2);
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    @Test
+    void cursorPagesUseOneStatementAndCoverAllRows() {
+        Set<Long> seen = new HashSet<>();
+        List<Long> statementsPerPage = new ArrayList<>();
+        String cursor = null;
+
+        do {
+            String pageCursor = cursor;
+            statistics.clear();
+            Response response = orderItemService.filterOrderItemsByCursor(OrderStatus.DELIVERED, null, null, null, pageCursor, 7);
+            statementsPerPage.add(statistics.getPrepareStatementCount());
+
+            @SuppressWarnings("unchecked")
+            List<OrderItemDto> page = (List<OrderItemDto>) response.getData();
+            page.forEach(item -> {
+                assertThat(item.getProduct()).isNotNull();
+                assertThat(item.getUser().getAddress()).isNotNull();
+                seen.add(item.getId());
+            });
+            cursor = response.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(ITEMS);
+        assertThat(statementsPerPage).containsOnly(1L);
+    }
+
+    @Test
+    void nextCursorResumesStrictlyAfterThePreviousPage() {
+        Response first = orderItemService.filterOrderItemsByCursor(OrderStatus.DELIVERED, null, null, null, null, 10);
+        Response second = orderItemService.filterOrderItemsByCursor(OrderStatus.DELIVERED, null, null, null, first.getNextCursor(), 10);
+
+        List<Long> firstIds = ids(first);
+        List<Long> secondIds = ids(second);
+        assertThat(firstIds).hasSize(10).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+        assertThat(secondIds).hasSize(10).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+        assertThat(secondIds.get(0)).isLessThan(firstIds.get(firstIds.size() - 1));
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() {
+        Response exact = orderItemService.filterOrderItemsByCursor(OrderStatus.DELIVERED, null, null, null, null, ITEMS);
+        assertThat(ids(exact)).hasSize(ITEMS);
+        assertThat(exact.getNextCursor()).isNull();
+
+        Response partial = orderItemService.filterOrderItemsByCursor(OrderStatus.DELIVERED, null, null, null, null, ITEMS - 5);
+        Response tail = orderItemService.filterOrderItemsByCursor(OrderStatus.DELIVERED, null, null, null, partial.getNextCursor(), ITEMS);
+        assertThat(ids(tail)).hasSize(5);
+        assertThat(tail.getNextCursor()).isNull();
+    }
+
+    @Test
+    void pageSizesBelowOneAreRejected() {
+        assertThatThrownBy(() -> orderItemService.filterOrderItemsByCursor(OrderStatus.DELIVERED, null, null, null, null, 0))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThatThrownBy(() -> orderItemService.filterOrderItemsByCursor(OrderStatus.DELIVERED, null, null, null, null, -1))
+                .isInstanceOf(InvalidCredentialsException.class);
+    }
+
+    @Test
+    void pageSizeIsCapped() {
+        Object target = AopTestUtils.getTargetObject(orderItemService);
+        Object previous = ReflectionTestUtils.getField(target, "maxFilterPageSize");
+        ReflectionTestUtils.setField(target, "maxFilterPageSize", 10);
+        try {
+            Response response = orderItemService.filterOrderItemsByCursor(OrderStatus.DELIVERED, null, null, null, null, Integer.MAX_VALUE);
+            assertThat(ids(response)).hasSize(10);
+            assertThat(response.getNextCursor()).isNotNull();
+        } finally {
+            ReflectionTestUtils.setField(target, "maxFilterPageSize", previous);
+        }
+    }
+
+    @Test
+    void exportStreamsEveryRowAsOneJsonLineWithOneStatement() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        statistics.clear();
+        orderItemService.exportOrderItems(OrderStatus.DELIVERED, null, null, null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(ITEMS);
+        assertThat(lines).allSatisfy(line -> assertThat(line).startsWith("{").contains("\"product\"").endsWith("}"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> ids(Response response) {
+        return ((List<OrderItemDto>) response.getData()).stream().map(OrderItemDto::getId).toList();
+    }
+
+    private long statementsFor(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,206 @@
+package com.ridoh.Order_Management.service.impl;
+
+import com.ridoh.Order_Management.dto.OrderItemDto;
+import com.ridoh.Order_Management.dto.OrderItemRequest;
+import com.ridoh.Order_Management.dto.OrderItemStatusResult;
+import com.ridoh.Order_Management.dto.OrderItemStatusResult.Outcome;
+import com.ridoh.Order_Management.dto.OrderRequest;
+import com.ridoh.Order_Management.dto.UserDto;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.entity.User;
+import com.ridoh.Order_Management.enums.OrderStatus;
+import com.ridoh.Order_Management.enums.UserRole;
+import com.ridoh.Order_Management.exception.InvalidCredentialsException;
+import com.ridoh.Order_Management.exception.InvalidStatusTransitionException;
+import com.ridoh.Order_Management.repository.OrderHistoryRepo;
+import com.ridoh.Order_Management.repository.OrderItemRepo;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.repository.UserRepo;
+import com.ridoh.Order_Management.service.Interface.OrderItemService;
+import com.ridoh.Order_Management.service.Interface.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies the order status transition table and that bulk status updates are set-based.
+ */
+@SpringBootTest
+class OrderItemStatusBulkTest {
+
+    private static final int STOCK = 100;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OrderItemRepo orderItemRepo;
+
+    @Autowired
+    private OrderHistoryRepo orderHistoryRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepo.save(User.builder()
+                .name("Warehouse Tester")
+                .email("warehouse-" + System.nanoTime() + "@test.com")
+                .password("secret")
+                .phoneNumber("0000000000")
+                .role(UserRole.USER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+
+        product = new Product();
+        product.setName("Bulk Product");
+        product.setDescription("Shipped in waves");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(STOCK);
+        product = productRepo.save(product);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void singleUpdatesFollowTheTransitionTable() {
+        Long orderItemId = placeItems(1).get(0);
+
+        assertThatThrownBy(() -> orderItemService.updateOrderItemStatus(orderItemId, "delivered"))
+                .isInstanceOf(InvalidStatusTransitionException.class);
+
+        orderItemService.updateOrderItemStatus(orderItemId, "confirmed");
+        orderItemService.updateOrderItemStatus(orderItemId, "confirmed");
+        orderItemService.updateOrderItemStatus(orderItemId, "shipped");
+        assertThatThrownBy(() -> orderItemService.updateOrderItemStatus(orderItemId, "pending"))
+                .isInstanceOf(InvalidStatusTransitionException.class);
+        assertThat(orderItemRepo.findById(orderItemId)).get().extracting(item -> item.getStatus()).isEqualTo(OrderStatus.SHIPPED);
+    }
+
+    @Test
+    void bulkUpdateReportsEveryIdAndOnlyAppliesAllowedTransitions() {
+        List<Long> ids = placeItems(4);
+        orderItemService.updateOrderItemStatus(ids.get(0), "cancelled");
+        orderItemService.updateOrderItemStatus(ids.get(1), "confirmed");
+
+        List<Long> requested = new ArrayList<>(ids);
+        requested.add(ids.get(2));
+        requested.add(-1L);
+        List<OrderItemStatusResult> results = results(orderItemService.updateOrderItemStatuses(requested, "confirmed").getData());
+
+        assertThat(results).extracting(OrderItemStatusResult::getId)
+                .containsExactly(ids.get(0), ids.get(1), ids.get(2), ids.get(3), -1L);
+        assertThat(results).extracting(OrderItemStatusResult::getOutcome)
+                .containsExactly(Outcome.INVALID_TRANSITION, Outcome.UNCHANGED, Outcome.UPDATED, Outcome.UPDATED, Outcome.NOT_FOUND);
+        assertThat(results.get(0).getPreviousStatus()).isEqualTo("CANCELLED");
+
+        assertThat(orderItemRepo.findById(ids.get(0))).get().extracting(item -> item.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(orderItemRepo.findById(ids.get(3))).get().extracting(item -> item.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(orderHistoryRepo.findById(ids.get(3))).get().extracting(entry -> entry.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+    }
+
+    @Test
+    void bulkUpdateRejectsMissingAndUnknownStatuses() {
+        List<Long> ids = placeItems(1);
+
+        assertThatThrownBy(() -> orderItemService.updateOrderItemStatuses(ids, null))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThatThrownBy(() -> orderItemService.updateOrderItemStatuses(ids, "teleported"))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThat(orderItemRepo.findById(ids.get(0))).get().extracting(item -> item.getStatus()).isEqualTo(OrderStatus.PENDING);
+    }
+
+    @Test
+    void bulkCancellationReturnsStock() {
+        List<Long> ids = placeItems(5);
+        assertThat(productRepo.findStockById(product.getId())).isEqualTo(STOCK - 5);
+
+        orderItemService.updateOrderItemStatuses(ids, "cancelled");
+
+        assertThat(productRepo.findStockById(product.getId())).isEqualTo(STOCK);
+    }
+
+    @Test
+    void bulkUpdateStatementsDoNotGrowWithTheNumberOfItems() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<Long> few = placeItems(5);
+        statistics.clear();
+        orderItemService.updateOrderItemStatuses(few, "confirmed");
+        long fewStatements = statistics.getPrepareStatementCount();
+
+        List<Long> many = placeItems(60);
+        statistics.clear();
+        orderItemService.updateOrderItemStatuses(many, "confirmed");
+        long manyStatements = statistics.getPrepareStatementCount();
+
+        assertThat(manyStatements).isEqualTo(fewStatements);
+
+        List<Long> fewToCancel = placeItems(5);
+        statistics.clear();
+        orderItemService.updateOrderItemStatuses(fewToCancel, "cancelled");
+        long fewCancelStatements = statistics.getPrepareStatementCount();
+
+        List<Long> manyToCancel = placeItems(30);
+        statistics.clear();
+        orderItemService.updateOrderItemStatuses(manyToCancel, "cancelled");
+        long manyCancelStatements = statistics.getPrepareStatementCount();
+
+        assertThat(manyCancelStatements).isEqualTo(fewCancelStatements);
+        assertThat(productRepo.findStockById(product.getId())).isEqualTo(STOCK - few.size() - many.size());
+    }
+
+    /**
+     * Places one order with {@code count} single-unit items and returns their IDs, oldest first.
+     */
+    private List<Long> placeItems(int count) {
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductId(product.getId().intValue());
+            item.setQuantity(1);
+            items.add(item);
+        }
+        OrderRequest request = new OrderRequest();
+        request.setItems(items);
+        orderItemService.placeOrder(request);
+
+        List<OrderItemDto> history = ((UserDto) userService.getUserInfoAndOrderHistory(null, count).getData()).getOrderItemList();
+        return history.stream().map(OrderItemDto::getId).sorted().toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<OrderItemStatusResult> results(Object data) {
+        return (List<OrderItemStatusResult>) data;
+    }
+}
@@ -0,0 +1,126 @@
+package com.ridoh.Order_Management.service.impl;
+
+import com.ridoh.Order_Management.dto.OrderItemRequest;
+import com.ridoh.Order_Management.dto.OrderRequest;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.entity.User;
+import com.ridoh.Order_Management.enums.UserRole;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.repository.UserRepo;
+import com.ridoh.Order_Management.service.Interface.OrderItemService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that placing an order costs the same number of JDBC statements regardless of cart size.
+ */
+@SpringBootTest
+class OrderPlacementQueryCountTest {
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Product> products = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepo.save(User.builder()
+                .name("Checkout Tester")
+                .email("checkout-" + System.nanoTime() + "@test.com")
+                .password("secret")
+                .phoneNumber("0000000000")
+                .role(UserRole.USER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+
+        for (int i = 0; i < 40; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setDescription("Description " + i);
+            product.setPrice(BigDecimal.valueOf(10 + i));
+            products.add(productRepo.save(product));
+        }
+
+        // Warm up id allocation so the initial pooled sequence fetches do not skew the counts
+        orderItemService.placeOrder(cart(1));
+        orderItemService.placeOrder(cart(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statementsPerOrderStayConstantAsCartGrows() {
+        Map<Integer, Long> statementsByCartSize = new TreeMap<>();
+
+        for (int cartSize : new int[]{1, 5, 10, 16}) {
+            statementsByCartSize.put(cartSize, fewestStatementsFor(cartSize));
+        }
+
+        assertThat(statementsByCartSize.values())
+                .as("JDBC statements per order by cart size: %s", statementsByCartSize)
+                .containsOnly(statementsByCartSize.get(1));
+    }
+
+    /**
+     * Places three orders of the given size and returns the smallest statement count.
+     * <p>
+     * Order and order item ids are drawn from their sequences in blocks of 50, and an order that
+     * crosses a block boundary issues one more statement to fetch the next block. Three orders of up
+     * to 16 items draw at most 48 item ids and 3 order ids, so at most one of them crosses an item
+     * block boundary and at most one an order block boundary. At least one of the three counts is
+     * free of sequence fetches, wherever earlier tests left the sequences.
+     * </p>
+     */
+    private long fewestStatementsFor(int cartSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long fewest = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            statistics.clear();
+            orderItemService.placeOrder(cart(cartSize));
+            fewest = Math.min(fewest, statistics.getPrepareStatementCount());
+        }
+        return fewest;
+    }
+
+    private OrderRequest cart(int size) {
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductId(products.get(i).getId().intValue());
+            item.setQuantity(1 + i % 3);
+            items.add(item);
+        }
+        OrderRequest request = new OrderRequest();
+        request.setItems(items);
+        return request;
+    }
+}
@@ -0,0 +1,195 @@
+package com.ridoh.Order_Management.service.impl;
+
+import com.ridoh.Order_Management.dto.CategoryDto;
+import com.ridoh.Order_Management.dto.ProductDto;
+import com.ridoh.Order_Management.dto.Response;
+import com.ridoh.Order_Management.entity.Category;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.repository.CategoryRepo;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.service.Interface.CategoryService;
+import com.ridoh.Order_Management.service.Interface.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that catalog reads are served from the cache and that catalog writes evict exactly
+ * the entries they change.
+ */
+@SpringBootTest
+class ProductCatalogCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private CategoryRepo categoryRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Category shoes;
+    private Category hats;
+    private Product sneaker;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        shoes = categoryRepo.save(newCategory("shoes"));
+        hats = categoryRepo.save(newCategory("hats"));
+
+        sneaker = new Product();
+        sneaker.setName("Sneaker");
+        sneaker.setPrice(BigDecimal.TEN);
+        sneaker.setCategory(shoes);
+        sneaker = productRepo.save(sneaker);
+    }
+
+    @Test
+    void repeatedReadsHitTheDatabaseOnce() {
+        long first = statementsFor(() -> productService.getProductById(sneaker.getId()));
+        long second = statementsFor(() -> productService.getProductById(sneaker.getId()));
+        long categoryFirst = statementsFor(() -> productService.getProductsByCategory(shoes.getId()));
+        long categorySecond = statementsFor(() -> productService.getProductsByCategory(shoes.getId()));
+
+        assertThat(first).isPositive();
+        assertThat(second).isZero();
+        assertThat(categoryFirst).isPositive();
+        assertThat(categorySecond).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void updateEvictsTheProductAndBothCategories() {
+        productService.getProductById(sneaker.getId());
+        productService.getProductsByCategory(shoes.getId());
+
+        productService.updateProduct(sneaker.getId(), hats.getId(), null, "Trail sneaker", null, null, null);
+
+        ProductDto reloaded = (ProductDto) productService.getProductById(sneaker.getId()).getData();
+        List<ProductDto> hatProducts = (List<ProductDto>) productService.getProductsByCategory(hats.getId()).getData();
+
+        assertThat(reloaded.getName()).isEqualTo("Trail sneaker");
+        assertThat(hatProducts).extracting(ProductDto::getId).containsExactly(sneaker.getId());
+        assertThat(statementsFor(() -> {
+            try {
+                productService.getProductsByCategory(shoes.getId());
+            } catch (RuntimeException expected) {
+                // the old category is now empty and must not be served from the cache
+            }
+        })).isPositive();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void cursorPagesCoverTheCatalogAndTheFirstPageIsCached() {
+        for (int i = 0; i < 12; i++) {
+            Product product = new Product();
+            product.setName("Paged " + i);
+            product.setPrice(BigDecimal.ONE);
+            product.setCategory(hats);
+            productRepo.save(product);
+        }
+        productService.updateProduct(sneaker.getId(), null, null, "Evict pages", null, null, null);
+
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        do {
+            Response response = productService.getAllProductsByCursor(cursor, 5);
+            List<ProductDto> page = (List<ProductDto>) response.getData();
+            assertThat(page).hasSizeLessThanOrEqualTo(5);
+            page.forEach(product -> assertThat(seen.add(product.getId())).isTrue());
+            cursor = response.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize((int) productRepo.count());
+        assertThat(statementsFor(() -> productService.getAllProductsByCursor(null, 5))).isZero();
+        assertThat(statementsFor(() -> productService.getAllProducts(0, 5))).isPositive();
+        assertThat(statementsFor(() -> productService.getAllProducts(0, 5))).isZero();
+    }
+
+    @Test
+    void pageSizeIsCapped() {
+        for (int i = 0; i < 8; i++) {
+            Product product = new Product();
+            product.setName("Capped " + i);
+            product.setPrice(BigDecimal.ONE);
+            productRepo.save(product);
+        }
+        productService.updateProduct(sneaker.getId(), null, null, "Evict pages", null, null, null);
+
+        Object target = AopTestUtils.getTargetObject(productService);
+        Object previous = ReflectionTestUtils.getField(target, "maxPageSize");
+        ReflectionTestUtils.setField(target, "maxPageSize", 5);
+        try {
+            Response offsetPage = productService.getAllProducts(0, 1_000_000);
+            Response cursorPage = productService.getAllProductsByCursor(null, 1_000_000);
+
+            assertThat((List<?>) offsetPage.getData()).hasSize(5);
+            assertThat((List<?>) cursorPage.getData()).hasSize(5);
+            assertThat(cursorPage.getNextCursor()).isNotNull();
+        } finally {
+            ReflectionTestUtils.setField(target, "maxPageSize", previous);
+        }
+    }
+
+    @Test
+    void categorySummariesUseOneGroupedQueryAndFollowProductWrites() {
+        productService.deleteProduct(sneaker.getId());
+
+        long first = statementsFor(categoryService::getAllCategories);
+        long second = statementsFor(categoryService::getAllCategories);
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        assertThat(productCountOf(shoes)).isZero();
+
+        Product boot = new Product();
+        boot.setName("Boot");
+        boot.setPrice(BigDecimal.TEN);
+        boot.setCategory(shoes);
+        productRepo.save(boot);
+        productService.updateProduct(boot.getId(), null, null, "Hiking boot", null, null, null);
+
+        assertThat(productCountOf(shoes)).isEqualTo(1);
+    }
+
+    private long productCountOf(Category category) {
+        CategoryDto summary = (CategoryDto) categoryService.getCategoryById(category.getId()).getData();
+        assertThat(summary.getProductList()).isNull();
+        return summary.getProductCount();
+    }
+
+    private static Category newCategory(String name) {
+        Category category = new Category();
+        category.setName(name + "-" + System.nanoTime());
+        return category;
+    }
+
+    private long statementsFor(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,160 @@
+package com.ridoh.Order_Management.service.impl;
+
+import com.ridoh.Order_Management.dto.OrderItemRequest;
+import com.ridoh.Order_Management.dto.OrderRequest;
+import com.ridoh.Order_Management.entity.Product;
+import com.ridoh.Order_Management.entity.User;
+import com.ridoh.Order_Management.enums.UserRole;
+import com.ridoh.Order_Management.exception.InvalidCredentialsException;
+import com.ridoh.Order_Management.repository.ProductRepo;
+import com.ridoh.Order_Management.repository.UserRepo;
+import com.ridoh.Order_Management.service.Interface.OrderItemService;
+import com.ridoh.Order_Management.service.Interface.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that an admin edit does not write back columns that orders and the image variant
+ * pipeline changed while the edit was in flight, and that orders see stock the edit set.
+ */
+@SpringBootTest
+class ProductUpdateConcurrencyTest {
+
+    private static final int STOCK = 10;
+    private static final String IMAGE_URL = "/images/original.png";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        User buyer = userRepo.save(User.builder()
+                .name("Concurrent Buyer")
+                .email("concurrent-" + System.nanoTime() + "@test.com")
+                .password("secret")
+                .phoneNumber("0000000000")
+                .role(UserRole.USER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(buyer.getEmail(), null, List.of()));
+
+        product = new Product();
+        product.setName("Edited sneaker");
+        product.setPrice(BigDecimal.TEN);
+        product.setImageUrl(IMAGE_URL);
+        product.setStock(STOCK);
+        product = productRepo.save(product);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void editKeepsStockTakenAndVariantsWrittenWhileItRuns() {
+        Authentication buyer = SecurityContextHolder.getContext().getAuthentication();
+        productService.updateProduct(product.getId(), null, interleaved(() -> CompletableFuture.runAsync(() -> {
+            SecurityContextHolder.getContext().setAuthentication(buyer);
+            try {
+                orderItemService.placeOrder(order(3));
+                productRepo.updateImageVariants(product.getId(), IMAGE_URL, "/images/thumb.png", "/images/medium.png");
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }).join()), null, "Now in blue", BigDecimal.ONE, null);
+
+        Product reloaded = productRepo.findById(product.getId()).orElseThrow();
+        assertThat(reloaded.getDescription()).isEqualTo("Now in blue");
+        assertThat(reloaded.getPrice()).isEqualByComparingTo(BigDecimal.ONE);
+        assertThat(reloaded.getStock()).isEqualTo(STOCK - 3);
+        assertThat(reloaded.getThumbnailUrl()).isEqualTo("/images/thumb.png");
+        assertThat(reloaded.getMediumImageUrl()).isEqualTo("/images/medium.png");
+    }
+
+    @Test
+    void explicitStockIsStillSet() {
+        productService.updateProduct(product.getId(), null, null, null, null, null, 50);
+
+        assertThat(productRepo.findStockById(product.getId())).isEqualTo(50);
+        orderItemService.placeOrder(order(1));
+        assertThat(productRepo.findStockById(product.getId())).isEqualTo(49);
+    }
+
+    @Test
+    void negativeStockIsRejectedOnCreateAndUpdate() {
+        assertThatThrownBy(() -> productService.createProduct(null, null, "Broken", null, BigDecimal.ONE, -1))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThatThrownBy(() -> productService.updateProduct(product.getId(), null, null, "Renamed", null, null, -1))
+                .isInstanceOf(InvalidCredentialsException.class);
+
+        assertThat(productRepo.findById(product.getId())).get().extracting(Product::getName).isEqualTo("Edited sneaker");
+    }
+
+    @Test
+    void stockCounterIsSeededFromTheDatabaseNotTheCallersEntity() {
+        Product loadedBeforeRestock = productRepo.findById(product.getId()).orElseThrow();
+        productService.updateProduct(product.getId(), null, null, null, null, null, STOCK + 5);
+
+        Map<Long, Integer> held = inventoryService.reserve(Map.of(product.getId(), loadedBeforeRestock),
+                Map.of(product.getId(), STOCK + 5));
+
+        assertThat(held).containsEntry(product.getId(), STOCK + 5);
+        assertThat(productRepo.findStockById(product.getId())).isZero();
+        inventoryService.release(held);
+    }
+
+    /**
+     * Returns an empty upload, which leaves the image unchanged, that runs {@code action} when the
+     * service inspects it: inside the edit's transaction, after the product was loaded and before it
+     * is saved. Concurrent writes must therefore run on another thread.
+     */
+    private static MultipartFile interleaved(Runnable action) {
+        return new MockMultipartFile("image", new byte[0]) {
+            @Override
+            public boolean isEmpty() {
+                action.run();
+                return true;
+            }
+        };
+    }
+
+    private OrderRequest order(int quantity) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(product.getId().intValue());
+        item.setQuantity(quantity);
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(item));
+        return request;
+    }
+}